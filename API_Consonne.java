@@ -195,6 +195,12 @@ public enum API_Consonne {
      * Contient un {@code Pattern} de reconnaissance pour identifier si un caractère est un symbole valide de l'API.
      */
     private static final Pattern PATRON_CHOIX_TOUS = Pattern.compile("[" + S_TOUS + "]");
+
+    /**
+     * Le nombre de bits du masque retourné par {@code traits}.
+     */
+    public static final int NOMBRE_DE_TRAITS = 6;
+
     private final int codePoint;
     private final ModeArticulation modeArticulation;
     private final PointArticulationConsonne pointArticulationConsonne;
@@ -335,6 +341,24 @@ public enum API_Consonne {
     }
 
 
+    /**
+     * Regroupe les caractéristiques sonores de la consonne dans un masque de bits.
+     * <p>
+     * Les bits sont, dans l'ordre : 'vocalique', 'nasal', 'voisé', 'continu', 'compact' et 'aigu'.  La distance
+     * entre deux consonnes est le nombre de bits différents entre leurs masques.
+     *
+     * @return le masque des caractéristiques, sur {@code NOMBRE_DE_TRAITS} bits.
+     */
+    public int traits() {
+        return (estVocalique() ? 1 : 0)
+                | (estNasal() ? 1 << 1 : 0)
+                | (estVoise() ? 1 << 2 : 0)
+                | (estContinu() ? 1 << 3 : 0)
+                | (estCompact() ? 1 << 4 : 0)
+                | (estAigu() ? 1 << 5 : 0);
+    }
+
+
     /**
      * Retourne la distance calculée entre deux consonnes.
      *
@@ -67,6 +67,11 @@ public enum API_Voyelle {
      */
     private static final Pattern PATRON_CHOIX_TOUS = Pattern.compile("[" + S_TOUS + "]");
 
+    /**
+     * Le nombre de bits du masque retourné par {@code traits}.
+     */
+    public static final int NOMBRE_DE_TRAITS = 4;
+
     private final int codePoint;
     private final Ouverture ouverture;
     private final PointArticulationVoyelle pointArticulationVoyelle;
@@ -170,6 +175,22 @@ public enum API_Voyelle {
     }
 
 
+    /**
+     * Regroupe les caractéristiques sonores de la voyelle dans un masque de bits.
+     * <p>
+     * Les bits sont, dans l'ordre : 'arrière', 'haut', 'arrondi' et 'ouverte'.  La distance entre deux voyelles
+     * est le nombre de bits différents entre leurs masques.
+     *
+     * @return le masque des caractéristiques, sur {@code NOMBRE_DE_TRAITS} bits.
+     */
+    public int traits() {
+        return (estArriere() ? 1 : 0)
+                | (estHaut() ? 1 << 1 : 0)
+                | (estArrondi() ? 1 << 2 : 0)
+                | (estOuverte() ? 1 << 3 : 0);
+    }
+
+
     /**
      * Retourne la distance calculée entre deux voyelles.
      *
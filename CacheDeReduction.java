@@ -0,0 +1,135 @@
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * Un cache borné des résultats de réduction.
+ * <p>
+ * Les entrées sont évincées selon l'ordre du moins récemment utilisé (LRU) dès que le nombre d'entrées ou la
+ * taille estimée des résultats dépasse sa limite.  Les compteurs de succès, d'échecs et d'évictions sont
+ * disponibles pour la surveillance.
+ * <p>
+ * Toutes les opérations sont synchronisées : un même cache peut être partagé par plusieurs fils.
+ *
+ * @see CleDeReduction
+ */
+public class CacheDeReduction {
+    /**
+     * Les résultats conservés, dans l'ordre de leur dernier accès.
+     */
+    private final LinkedHashMap<CleDeReduction, String> entrees = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int maximumEntrees;
+    private final long maximumOctets;
+
+    private long octets = 0;
+    private long succes = 0;
+    private long echecs = 0;
+    private long evictions = 0;
+
+
+    /**
+     * Construit un cache vide.
+     *
+     * @param maximumEntrees le nombre maximal de résultats conservés.
+     * @param maximumOctets  la taille maximale estimée, en octets, de l'ensemble des résultats conservés.
+     */
+    public CacheDeReduction(int maximumEntrees, long maximumOctets) {
+        this.maximumEntrees = maximumEntrees;
+        this.maximumOctets = maximumOctets;
+    }
+
+
+    /**
+     * Cherche le résultat d'une réduction déjà effectuée.
+     *
+     * @param cle la clé de la demande de réduction.
+     * @return le texte réduit, ou {@code null} s'il n'est pas dans le cache.
+     */
+    public synchronized String chercher(CleDeReduction cle) {
+        String resultat = entrees.get(cle);
+
+        if (resultat == null) {
+            echecs++;
+        } else {
+            succes++;
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Ajoute le résultat d'une réduction au cache et évince les entrées les moins récemment utilisées au besoin.
+     * <p>
+     * Un résultat plus grand que la taille maximale du cache n'est pas conservé.
+     *
+     * @param cle         la clé de la demande de réduction.
+     * @param texteReduit le texte réduit.
+     */
+    public synchronized void ajouter(CleDeReduction cle, String texteReduit) {
+        long taille = tailleDe(texteReduit);
+
+        if (taille <= maximumOctets) {
+            String ancien = entrees.put(cle, texteReduit);
+
+            if (ancien != null) {
+                octets -= tailleDe(ancien);
+            }
+            octets += taille;
+            evincer();
+        }
+    }
+
+
+    /**
+     * Retire les entrées les moins récemment utilisées jusqu'à ce que le cache respecte ses limites.
+     */
+    private void evincer() {
+        Iterator<Map.Entry<CleDeReduction, String>> iterateur = entrees.entrySet().iterator();
+
+        while (iterateur.hasNext() && (entrees.size() > maximumEntrees || octets > maximumOctets)) {
+            octets -= tailleDe(iterateur.next().getValue());
+            iterateur.remove();
+            evictions++;
+        }
+    }
+
+
+    /**
+     * Estime la place occupée par un texte réduit.
+     *
+     * @param texteReduit le texte réduit.
+     * @return la taille estimée, en octets.
+     */
+    private static long tailleDe(String texteReduit) {
+        return 2L * texteReduit.length();
+    }
+
+
+    public synchronized int getNombreEntrees() { return entrees.size(); }
+
+    public synchronized long getOctets() { return octets; }
+
+    public synchronized long getSucces() { return succes; }
+
+    public synchronized long getEchecs() { return echecs; }
+
+    public synchronized long getEvictions() { return evictions; }
+
+
+    /**
+     * Construit une chaîne de caractères contenant les statistiques du cache, une valeur par ligne.
+     *
+     * @return la chaîne construite.
+     */
+    @Override
+    public synchronized String toString() {
+        return "succes=" + succes + "\n"
+                + "echecs=" + echecs + "\n"
+                + "evictions=" + evictions + "\n"
+                + "entrees=" + entrees.size() + "\n"
+                + "octets=" + octets + "\n";
+    }
+}
@@ -0,0 +1,394 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Properties;
+import java.util.Random;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * Les seuils qui guident le choix d'un moteur de sélection exact, mesurés sur la machine courante.
+ * <p>
+ * Un court banc d'essai réduit de moitié des vocabulaires artificiels de tailles croissantes avec chacun des
+ * moteurs exacts.  Le seuil d'un moteur est la plus petite taille à partir de laquelle il est plus rapide que les
+ * moteurs plus simples.  Un premier tour, non chronométré, laisse au compilateur à la volée le temps d'optimiser
+ * les moteurs.  Un seuil qui n'est pas atteint dans les tailles essayées ne prouve pas que le moteur n'est jamais
+ * plus rapide : il est remplacé par le seuil par défaut, ou par le double de la plus grande taille essayée.
+ * <p>
+ * Le banc d'essai dure quelques secondes et n'est jamais fait pendant une réduction : il est lancé par
+ * {@code Textes.OPTION_CALIBRER}, ou en arrière-plan au démarrage du serveur.  Les seuils sont conservés dans
+ * {@code Constantes.FICHIER_CALIBRATION}, dans le répertoire de l'utilisateur, et ne sont plus valides si le
+ * nombre de processeurs ou la version de Java change.  Sans calibration valide, les seuils par défaut de
+ * {@code Constantes} sont utilisés.
+ *
+ * @see MoteurAdaptatif
+ */
+public class CalibrationDesMoteurs {
+    /**
+     * Les tailles de vocabulaire essayées par le banc d'essai.
+     */
+    private static final int[] TAILLES = {64, 128, 256, 512, 1024};
+
+    /**
+     * La plus petite taille essayée par le banc d'essai.  Les seuils ne sont jamais plus petits : sous cette
+     * taille, le {@code MoteurParBalayage} est choisi sans consulter la calibration.
+     */
+    public static final int TAILLE_MINIMALE = TAILLES[0];
+
+    /**
+     * Le nombre de réductions non chronométrées faites par chaque moteur avant le banc d'essai.
+     */
+    private static final int ESSAIS_DE_CHAUFFE = 3;
+
+    /**
+     * La graine des vocabulaires du banc d'essai.
+     */
+    private static final long GRAINE = 0xCA11B7EL;
+
+    /**
+     * La version du fichier de calibration.
+     */
+    private static final String VERSION = "1";
+
+    private static final Logger JOURNAL = Logger.getLogger(CalibrationDesMoteurs.class.getName());
+
+    private static CalibrationDesMoteurs calibration = null;
+    private static boolean calibrationLue = false;
+    private static boolean mesureLancee = false;
+
+    private final int seuilMatrice;
+    private final int seuilIndex;
+
+
+    /**
+     * Construit une calibration.
+     *
+     * @param seuilMatrice le nombre de syllabes distinctes à partir duquel le {@code MoteurParMatrice} est préféré.
+     * @param seuilIndex   le nombre de syllabes distinctes à partir duquel le {@code MoteurParIndex} est préféré.
+     */
+    public CalibrationDesMoteurs(int seuilMatrice, int seuilIndex) {
+        this.seuilMatrice = seuilMatrice;
+        this.seuilIndex = seuilIndex;
+    }
+
+
+    /**
+     * Donne la calibration de la machine courante.  Elle est lue dans le fichier de calibration s'il correspond à
+     * cette machine, sinon les seuils par défaut sont utilisés.  Le banc d'essai n'est jamais lancé par cette
+     * méthode.
+     *
+     * @return la calibration, qui change seulement lorsqu'une nouvelle mesure se termine.
+     */
+    public static synchronized CalibrationDesMoteurs courante() {
+        if (calibration == null) {
+            Path fichier = fichierDeCalibration();
+
+            if (fichier != null) {
+                calibration = lire(fichier);
+            }
+            calibrationLue = calibration != null;
+            if (calibration == null) {
+                JOURNAL.config(() -> "Aucune calibration : seuils par defaut, voir " + Textes.OPTION_CALIBRER);
+                calibration = new CalibrationDesMoteurs(Constantes.SEUIL_MATRICE_DEFAUT,
+                        Constantes.SEUIL_INDEX_DEFAUT);
+            }
+        }
+        return calibration;
+    }
+
+
+    /**
+     * Mesure la calibration de la machine courante, l'enregistre, puis la rend courante.
+     * <p>
+     * Les réductions qui choisissent leur moteur pendant la mesure utilisent la calibration précédente.
+     *
+     * @return la calibration mesurée.
+     */
+    public static CalibrationDesMoteurs calibrer() {
+        CalibrationDesMoteurs resultat = mesurer();
+        Path fichier = fichierDeCalibration();
+
+        synchronized (CalibrationDesMoteurs.class) {
+            calibration = resultat;
+            calibrationLue = true;
+        }
+        if (fichier == null) {
+            JOURNAL.warning(() -> "Calibration impossible a enregistrer : repertoire de l'utilisateur inconnu");
+        } else {
+            ecrire(fichier, resultat);
+        }
+        JOURNAL.info(() -> "Calibration mesuree : " + resultat.toString().replace('\n', ' '));
+
+        return resultat;
+    }
+
+
+    /**
+     * Lance le banc d'essai sur un fil en arrière-plan si aucune calibration valide n'a été lue, pour une
+     * exécution assez longue pour en profiter.  Les seuils par défaut sont utilisés jusqu'à la fin de la mesure.
+     */
+    public static void calibrerEnArrierePlan() {
+        boolean lancer;
+
+        courante();
+        synchronized (CalibrationDesMoteurs.class) {
+            lancer = !calibrationLue && !mesureLancee;
+            mesureLancee = true;
+        }
+        if (lancer) {
+            Thread fil = new Thread(CalibrationDesMoteurs::calibrer, "calibration-des-moteurs");
+
+            fil.setDaemon(true);
+            fil.setPriority(Thread.MIN_PRIORITY);
+            fil.start();
+        }
+    }
+
+
+    /**
+     * Donne le fichier de calibration, dans le répertoire de l'utilisateur.
+     *
+     * @return le fichier, ou {@code null} si le répertoire de l'utilisateur est inconnu ou n'existe pas.
+     */
+    private static Path fichierDeCalibration() {
+        Path resultat = null;
+        String repertoire = System.getProperty("user.home");
+
+        try {
+            if (repertoire != null && Files.isDirectory(Path.of(repertoire))) {
+                resultat = Path.of(repertoire, Constantes.FICHIER_CALIBRATION);
+            }
+        } catch (InvalidPathException e) {
+            resultat = null;
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Lit une calibration.
+     *
+     * @param fichier le fichier de calibration.
+     * @return la calibration, ou {@code null} si le fichier n'existe pas, est illisible ou a été écrit pour une
+     * autre machine.
+     */
+    private static CalibrationDesMoteurs lire(Path fichier) {
+        CalibrationDesMoteurs resultat = null;
+        Properties proprietes = new Properties();
+
+        if (Files.isRegularFile(fichier)) {
+            try (InputStream entree = Files.newInputStream(fichier)) {
+                proprietes.load(entree);
+                if (environnement().equals(proprietes.getProperty("environnement"))) {
+                    resultat = new CalibrationDesMoteurs(Integer.parseInt(proprietes.getProperty("seuilMatrice")),
+                            Integer.parseInt(proprietes.getProperty("seuilIndex")));
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                JOURNAL.log(Level.WARNING, "Calibration illisible : " + fichier, e);
+            }
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Enregistre une calibration.  Elle est écrite dans un fichier temporaire du même répertoire, qui remplace
+     * ensuite le fichier de calibration en une seule opération : une autre exécution ne lit jamais un fichier à
+     * moitié écrit.  Une erreur d'écriture est journalisée : la calibration mesurée sert pour l'exécution courante
+     * seulement.
+     *
+     * @param fichier     le fichier de calibration.
+     * @param calibration la calibration à enregistrer.
+     */
+    private static void ecrire(Path fichier, CalibrationDesMoteurs calibration) {
+        Properties proprietes = new Properties();
+
+        proprietes.setProperty("environnement", environnement());
+        proprietes.setProperty("seuilMatrice", Integer.toString(calibration.seuilMatrice));
+        proprietes.setProperty("seuilIndex", Integer.toString(calibration.seuilIndex));
+
+        Path temporaire = null;
+
+        try {
+            temporaire = Files.createTempFile(fichier.getParent(), fichier.getFileName().toString(),
+                    Constantes.EXTENSION_TEMPORAIRE);
+            try (OutputStream sortie = Files.newOutputStream(temporaire)) {
+                proprietes.store(sortie, "Seuils des moteurs de selection");
+            }
+            Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            JOURNAL.log(Level.WARNING, "Calibration impossible a enregistrer, seuils mesures pour cette execution "
+                    + "seulement : " + fichier, e);
+            supprimer(temporaire);
+        }
+    }
+
+
+    /**
+     * Supprime un fichier temporaire laissé par une écriture échouée.
+     *
+     * @param temporaire le fichier, ou {@code null} s'il n'a pas été créé.
+     */
+    private static void supprimer(Path temporaire) {
+        try {
+            if (temporaire != null) {
+                Files.deleteIfExists(temporaire);
+            }
+        } catch (IOException e) {
+            JOURNAL.log(Level.WARNING, "Fichier temporaire laisse : " + temporaire, e);
+        }
+    }
+
+
+    /**
+     * Décrit la machine pour laquelle une calibration est valide.
+     *
+     * @return la version du fichier, le nombre de processeurs et la version de Java.
+     */
+    private static String environnement() {
+        return VERSION + "/" + Runtime.getRuntime().availableProcessors() + "/" + Runtime.version().feature();
+    }
+
+
+    /**
+     * Mesure les seuils avec le banc d'essai, sans les enregistrer.  Chaque moteur réduit d'abord un vocabulaire
+     * moyen {@code ESSAIS_DE_CHAUFFE} fois sans être chronométré.  Chaque vocabulaire est ensuite réduit deux fois
+     * par chaque moteur, et le meilleur temps est retenu.
+     *
+     * @return la calibration mesurée.
+     */
+    public static CalibrationDesMoteurs mesurer() {
+        Random aleatoire = new Random(GRAINE);
+        CompteurDeSyllabes chauffe = vocabulaire(TAILLES[TAILLES.length / 2], new Random(~GRAINE));
+        int seuilMatrice = Integer.MAX_VALUE;
+        int seuilIndex = Integer.MAX_VALUE;
+
+        for (int essai = 0; essai < ESSAIS_DE_CHAUFFE; essai++) {
+            chronometrer(chauffe, MoteurParBalayage::new);
+            chronometrer(chauffe, MoteurParMatrice::new);
+            chronometrer(chauffe, MoteurParIndex::new);
+        }
+        for (int i = 0; i < TAILLES.length && seuilIndex == Integer.MAX_VALUE; i++) {
+            CompteurDeSyllabes compteur = vocabulaire(TAILLES[i], aleatoire);
+            long balayage = chronometrer(compteur, MoteurParBalayage::new);
+            long matrice = chronometrer(compteur, MoteurParMatrice::new);
+            long index = chronometrer(compteur, MoteurParIndex::new);
+
+            if (seuilMatrice == Integer.MAX_VALUE && matrice < balayage) {
+                seuilMatrice = TAILLES[i];
+            }
+            if (index < Math.min(balayage, matrice)) {
+                seuilIndex = TAILLES[i];
+            }
+        }
+
+        return new CalibrationDesMoteurs(seuilHorsMesure(seuilMatrice, Constantes.SEUIL_MATRICE_DEFAUT),
+                seuilHorsMesure(seuilIndex, Constantes.SEUIL_INDEX_DEFAUT));
+    }
+
+
+    /**
+     * Remplace un seuil qui n'a pas été atteint dans les tailles essayées.
+     *
+     * @param seuil  le seuil mesuré, ou {@code Integer.MAX_VALUE} s'il n'a pas été atteint.
+     * @param defaut le seuil par défaut.
+     * @return le seuil mesuré, ou le plus grand du seuil par défaut et du double de la plus grande taille essayée.
+     */
+    private static int seuilHorsMesure(int seuil, int defaut) {
+        int resultat = seuil;
+
+        if (seuil == Integer.MAX_VALUE) {
+            resultat = Math.max(defaut, 2 * TAILLES[TAILLES.length - 1]);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Construit un vocabulaire artificiel dont toutes les syllabes ont des signatures différentes.
+     *
+     * @param taille    le nombre de syllabes distinctes.
+     * @param aleatoire le générateur utilisé pour tirer les phonèmes et les comptes.
+     * @return le compteur du vocabulaire.
+     */
+    private static CompteurDeSyllabes vocabulaire(int taille, Random aleatoire) {
+        API_Consonne[] consonnes = API_Consonne.values();
+        API_Voyelle[] voyelles = API_Voyelle.values();
+        LinkedHashMap<Long, SyllabeFrancais> syllabes = new LinkedHashMap<>();
+        CompteurDeSyllabes resultat = new CompteurDeSyllabes();
+
+        while (syllabes.size() < taille) {
+            ConsonneFrancais attaque = new ConsonneFrancais(consonnes[aleatoire.nextInt(consonnes.length)],
+                    consonnes[aleatoire.nextInt(consonnes.length)]);
+            VoyelleFrancais noyau = new VoyelleFrancais(voyelles[aleatoire.nextInt(voyelles.length)],
+                    voyelles[aleatoire.nextInt(voyelles.length)], aleatoire.nextBoolean());
+            ConsonneFrancais coda = new ConsonneFrancais(consonnes[aleatoire.nextInt(consonnes.length)]);
+            SyllabeFrancais syllabe = new SyllabeFrancais(attaque, noyau, coda);
+
+            syllabes.putIfAbsent(syllabe.signature(), syllabe);
+        }
+        for (SyllabeFrancais syllabe : syllabes.values()) {
+            resultat.put(syllabe, 1 + aleatoire.nextInt(16));
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Mesure le temps d'un moteur pour réduire un vocabulaire de moitié.
+     *
+     * @param compteur le vocabulaire, qui n'est pas modifié.
+     * @param fabrique crée un nouveau moteur à chaque essai.
+     * @return le meilleur temps de deux essais, en nanosecondes.
+     */
+    private static long chronometrer(CompteurDeSyllabes compteur, Supplier<MoteurDeSelection> fabrique) {
+        long resultat = Long.MAX_VALUE;
+
+        for (int essai = 0; essai < 2; essai++) {
+            CompteurDeSyllabes copie = new CompteurDeSyllabes();
+            long debut;
+
+            copie.putAll(compteur);
+            debut = System.nanoTime();
+            new PlanDeReduction(copie, compteur.size() / 2, fabrique.get());
+            resultat = Math.min(resultat, System.nanoTime() - debut);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Donne le nombre de syllabes distinctes à partir duquel le {@code MoteurParMatrice} est préféré au
+     * {@code MoteurParBalayage}.
+     *
+     * @return le seuil.
+     */
+    public int getSeuilMatrice() { return seuilMatrice; }
+
+    /**
+     * Donne le nombre de syllabes distinctes à partir duquel le {@code MoteurParIndex} est préféré aux autres
+     * moteurs exacts.
+     *
+     * @return le seuil.
+     */
+    public int getSeuilIndex() { return seuilIndex; }
+
+
+    @Override
+    public String toString() {
+        return "seuilMatrice=" + seuilMatrice + "\n"
+                + "seuilIndex=" + seuilIndex + "\n";
+    }
+}
@@ -0,0 +1,62 @@
+import java.util.Arrays;
+
+
+/**
+ * Une clé identifiant une demande de réduction.
+ * <p>
+ * La clé combine l'empreinte du contenu d'un {@code TexteSonore} et le nombre de syllabes demandé.  Deux demandes
+ * ayant la même clé produisent la même suite de syllabes réduite.
+ *
+ * @see CacheDeReduction
+ * @see TexteSonore#empreinte()
+ */
+public class CleDeReduction {
+    private final byte[] empreinte;
+    private final int nombreDeSyllabes;
+
+
+    /**
+     * Construit la clé d'une demande de réduction.
+     *
+     * @param texteSonore      le {@code TexteSonore} avant la réduction.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes demandé.
+     */
+    public CleDeReduction(TexteSonore texteSonore, int nombreDeSyllabes) {
+        this.empreinte = texteSonore.empreinte();
+        this.nombreDeSyllabes = nombreDeSyllabes;
+    }
+
+
+    public int getNombreDeSyllabes() { return nombreDeSyllabes; }
+
+
+    /**
+     * Compare l'empreinte et le nombre de syllabes de deux {@code CleDeReduction}.
+     *
+     * @param o l'objet auquel la clé est comparée.
+     * @return {@code true} si les deux clés désignent la même demande de réduction.
+     */
+    @Override
+    public boolean equals(Object o) {
+        boolean resultat = false;
+
+        if (this == o) {
+            resultat = true;
+        } else if (o != null && getClass() == o.getClass()) {
+            CleDeReduction autre = (CleDeReduction) o;
+            resultat = nombreDeSyllabes == autre.nombreDeSyllabes && Arrays.equals(empreinte, autre.empreinte);
+        }
+
+        return resultat;
+    }
+
+    /**
+     * Crée un {@code hashCode} à des fins de comparaison d'objets de la classe.
+     *
+     * @return un {@code hashCode} calculé à partir de l'empreinte et du nombre de syllabes.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(empreinte) + nombreDeSyllabes;
+    }
+}
@@ -0,0 +1,254 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Une copie des syllabes distinctes d'un {@code CompteurDeSyllabes}, rangée en tableaux parallèles de types
+ * primitifs.
+ * <p>
+ * La signature de chaque syllabe regroupe les traits de son attaque, de son noyau et de son coda ainsi que la
+ * présence de chacun de leurs éléments.  Avec sa structure et son compte, elle suffit à choisir la paire à
+ * fusionner : la recherche parcourt les tableaux dans l'ordre, sans suivre de référence ni créer d'objet.  Les
+ * fusions sont appliquées aux tableaux en conservant l'ordre du compteur.
+ *
+ * @see CompteurDeSyllabes#choisirSyllabesARemplacer()
+ * @see NoyauDeDistances#distance(long, long)
+ */
+public class ColonnesDeSyllabes {
+    private final SyllabeFrancais[] syllabes;
+    private final long[] signatures;
+    private final int[] structures;
+    private final int[] comptes;
+    private int taille;
+
+
+    /**
+     * Copie les syllabes d'un compteur, dans l'ordre du compteur.
+     *
+     * @param compteur le compteur à copier.
+     */
+    public ColonnesDeSyllabes(CompteurDeSyllabes compteur) {
+        taille = compteur.size();
+        syllabes = new SyllabeFrancais[taille];
+        signatures = new long[taille];
+        structures = new int[taille];
+        comptes = new int[taille];
+
+        int i = 0;
+        for (Map.Entry<SyllabeFrancais, Integer> entree : compteur.entrySet()) {
+            syllabes[i] = entree.getKey();
+            signatures[i] = entree.getKey().signature();
+            structures[i] = entree.getKey().structure();
+            comptes[i] = entree.getValue();
+            i++;
+        }
+    }
+
+
+    /**
+     * Sélectionne les deux syllabes les plus similaires, comme {@code CompteurDeSyllabes.choisirSyllabesARemplacer}.
+     *
+     * @return une {@code PaireDeSyllabes} dont la syllabe à remplacer est la moins fréquente des deux, ou la
+     * dernière dans l'ordre du compteur.
+     */
+    public PaireDeSyllabes choisirSyllabesARemplacer() {
+        int distance;
+        int plusPetiteDistance = Integer.MAX_VALUE;
+        int choix1 = -1;
+        int choix2 = -1;
+        PaireDeSyllabes paire;
+
+        for (int i = 0; i < taille && plusPetiteDistance > 0; i++) {
+            long signature = signatures[i];
+            int structure = structures[i];
+
+            for (int j = i + 1; j < taille; j++) {
+                if (SyllabeFrancais.borneInferieureDistance(structure, structures[j]) < plusPetiteDistance) {
+                    distance = NoyauDeDistances.distance(signature, signatures[j]);
+
+                    if (distance < plusPetiteDistance) {
+                        plusPetiteDistance = distance;
+                        choix1 = i;
+                        choix2 = j;
+                    }
+                }
+            }
+        }
+
+        if (comptes[choix1] < comptes[choix2]) {
+            paire = new PaireDeSyllabes(syllabes[choix1], syllabes[choix2]);
+        } else {
+            paire = new PaireDeSyllabes(syllabes[choix2], syllabes[choix1]);
+        }
+        return paire;
+    }
+
+
+    /**
+     * Sélectionne, en un seul parcours, des paires disjointes de syllabes à la plus petite distance du compteur.
+     * <p>
+     * Les paires à la plus petite distance sont parcourues dans l'ordre de {@code choisirSyllabesARemplacer} : une
+     * paire est retenue si aucune de ses syllabes n'appartient à une paire déjà retenue.  La première paire est
+     * donc celle de {@code choisirSyllabesARemplacer}.  Puisque les paires sont disjointes, chacune peut être
+     * fusionnée sans changer la distance des autres.
+     *
+     * @param maximum le nombre maximal de paires à retenir.
+     * @return les paires retenues, dans l'ordre du parcours, chacune orientée selon la règle de fréquence.
+     */
+    public List<PaireDeSyllabes> choisirPairesDisjointes(int maximum) {
+        int distance;
+        int plusPetiteDistance = Integer.MAX_VALUE;
+        int[] choix = new int[2 * Math.min(maximum, taille / 2)];
+        int nombreDePaires = 0;
+        boolean[] retenues = new boolean[taille];
+        List<PaireDeSyllabes> resultat = new ArrayList<>();
+
+        for (int i = 0; i < taille; i++) {
+            long signature = signatures[i];
+            int structure = structures[i];
+
+            for (int j = i + 1; j < taille; j++) {
+                int borne = SyllabeFrancais.borneInferieureDistance(structure, structures[j]);
+
+                if (borne < plusPetiteDistance || borne == plusPetiteDistance && nombreDePaires < maximum) {
+                    distance = NoyauDeDistances.distance(signature, signatures[j]);
+
+                    if (distance < plusPetiteDistance) {
+                        plusPetiteDistance = distance;
+                        for (int k = 0; k < 2 * nombreDePaires; k++) {
+                            retenues[choix[k]] = false;
+                        }
+                        nombreDePaires = 0;
+                    }
+                    if (distance == plusPetiteDistance && nombreDePaires < maximum
+                            && !retenues[i] && !retenues[j]) {
+                        retenues[i] = true;
+                        retenues[j] = true;
+                        choix[2 * nombreDePaires] = i;
+                        choix[2 * nombreDePaires + 1] = j;
+                        nombreDePaires++;
+                    }
+                }
+            }
+        }
+
+        for (int k = 0; k < nombreDePaires; k++) {
+            int choix1 = choix[2 * k];
+            int choix2 = choix[2 * k + 1];
+
+            if (comptes[choix1] < comptes[choix2]) {
+                resultat.add(new PaireDeSyllabes(syllabes[choix1], syllabes[choix2]));
+            } else {
+                resultat.add(new PaireDeSyllabes(syllabes[choix2], syllabes[choix1]));
+            }
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Sélectionne la syllabe la moins fréquente et la syllabe qui lui est la plus similaire.
+     * <p>
+     * Ce choix demande un seul parcours des tableaux.  Il n'est pas celui de
+     * {@code CompteurDeSyllabes.choisirSyllabesARemplacer} : la syllabe remplacée est celle qui touche le moins de
+     * positions du texte, pas celle de la paire la plus similaire.  Entre deux syllabes aussi fréquentes ou deux
+     * voisines aussi proches, la première dans l'ordre du compteur est choisie.
+     *
+     * @return une {@code PaireDeSyllabes} dont la syllabe à remplacer est la moins fréquente du compteur.
+     */
+    public PaireDeSyllabes choisirSyllabeRareARemplacer() {
+        int distance;
+        int plusPetiteDistance = Integer.MAX_VALUE;
+        int rare = 0;
+        int voisine = -1;
+
+        for (int i = 1; i < taille; i++) {
+            if (comptes[i] < comptes[rare]) {
+                rare = i;
+            }
+        }
+
+        for (int j = 0; j < taille && plusPetiteDistance > 0; j++) {
+            if (j != rare
+                    && SyllabeFrancais.borneInferieureDistance(structures[rare], structures[j]) < plusPetiteDistance) {
+                distance = NoyauDeDistances.distance(signatures[rare], signatures[j]);
+
+                if (distance < plusPetiteDistance) {
+                    plusPetiteDistance = distance;
+                    voisine = j;
+                }
+            }
+        }
+
+        return new PaireDeSyllabes(syllabes[rare], syllabes[voisine]);
+    }
+
+
+    /**
+     * Applique un remplacement aux tableaux, comme {@code CompteurDeSyllabes.fusionne} l'applique au compteur.
+     *
+     * @param paire la {@code PaireDeSyllabes} à appliquer.
+     */
+    public void fusionne(PaireDeSyllabes paire) {
+        int retiree = position(paire.getSyllabeARemplacer());
+        int gardee = position(paire.getNouvelleValeur());
+        int compte = comptes[retiree] + comptes[gardee];
+
+        if (retiree < gardee) {
+            syllabes[retiree] = syllabes[gardee];
+            signatures[retiree] = signatures[gardee];
+            structures[retiree] = structures[gardee];
+            comptes[retiree] = compte;
+            retirer(gardee);
+        } else {
+            comptes[gardee] = compte;
+            retirer(retiree);
+        }
+    }
+
+
+    /**
+     * Retire une position des tableaux en décalant les suivantes.
+     *
+     * @param i la position à retirer.
+     */
+    private void retirer(int i) {
+        int suivantes = taille - i - 1;
+
+        System.arraycopy(syllabes, i + 1, syllabes, i, suivantes);
+        System.arraycopy(signatures, i + 1, signatures, i, suivantes);
+        System.arraycopy(structures, i + 1, structures, i, suivantes);
+        System.arraycopy(comptes, i + 1, comptes, i, suivantes);
+        taille--;
+        syllabes[taille] = null;
+    }
+
+
+    /**
+     * Donne la position d'une syllabe dans les tableaux.
+     *
+     * @param syllabe la syllabe cherchée.
+     * @return sa position, ou {@code -1} si elle est absente.
+     */
+    private int position(SyllabeFrancais syllabe) {
+        int resultat = -1;
+
+        for (int i = 0; i < taille && resultat < 0; i++) {
+            if (syllabes[i].equals(syllabe)) {
+                resultat = i;
+            }
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Donne le nombre de syllabes distinctes.
+     *
+     * @return le nombre de syllabes distinctes.
+     */
+    public int size() { return taille; }
+}
@@ -1,5 +1,11 @@
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 
 /**
@@ -11,6 +17,11 @@ import java.util.LinkedHashMap;
  * @see PaireDeSyllabes
  */
 public class CompteurDeSyllabes extends LinkedHashMap<SyllabeFrancais, Integer> {
+    /**
+     * La version de la forme sérialisée.
+     */
+    private static final long serialVersionUID = 1L;
+
     /**
      * Constructeur par défaut. Crée un {@code CompteurDeSyllabes} vide sans l'initialiser.
      */
@@ -33,61 +44,155 @@ public class CompteurDeSyllabes extends LinkedHashMap<SyllabeFrancais, Integer>
      * Initialise (ou ré-initialise) un {@code CompteurDeSyllabes} à partir d'un {@code TexteSonore} fourni.
      * <p>
      * Cette opération comptabilise le nombre de {@code SyllabeFrancais} distincts dans un {@code TexteSonore} et
-     * enregistre ces données dans le compteur.
+     * enregistre ces données dans le compteur.  Un texte d'au moins {@code Constantes.SEUIL_COMPTAGE_PARALLELE}
+     * syllabes est compté en parallèle lorsque plusieurs processeurs sont disponibles.
      *
      * @param texteSonore le {@code TexteSonore} à partir duquel initialiser le compteur.
      */
     public void initialiseValeurs(TexteSonore texteSonore) {
         this.clear();
-        for (SyllabeFrancais a : texteSonore) {
-            if (this.containsKey(a)) {
-                int compte = this.get(a);
-                this.put(a, compte + 1);
-            } else {
-                this.put(a, 1);
+        if (texteSonore.size() < Constantes.SEUIL_COMPTAGE_PARALLELE
+                || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            for (SyllabeFrancais a : texteSonore) {
+                ajoute(a);
             }
+        } else {
+            initialiseValeursEnParallele(texteSonore);
         }
     }
 
 
     /**
-     * Sélectionne les deux {@code SyllabeFrancais} les plus similaires dans le {@code CompteurDeSyllabes}
+     * Compte un {@code TexteSonore} en parallèle.
      * <p>
-     * Selon leur fréquence dans le compteur, on détermine laquelle des deux devra être remplacée
-     * par l'autre à l'intérieur du {@code TexteSonore}.
+     * Le texte est découpé en tranches consécutives, chacune comptée dans son propre compteur local.  Les
+     * compteurs locaux sont ensuite fusionnés dans l'ordre des tranches : l'ordre des clés reste celui de la
+     * première occurrence de chaque syllabe dans le texte, comme pour le comptage séquentiel.
      *
-     * @return une {@code PaireDeSyllabes} à partir de laquelle on peut effectuer une réduction de syllabes.
+     * @param texteSonore le {@code TexteSonore} à compter.
      */
-    public PaireDeSyllabes choisirSyllabesARemplacer() {
-        int distance;
-        int plusPetiteDistance = Integer.MAX_VALUE;
-        SyllabeFrancais choixSyllabe1 = null;
-        SyllabeFrancais choixSyllabe2 = null;
-        PaireDeSyllabes paire;
+    private void initialiseValeursEnParallele(TexteSonore texteSonore) {
+        int nombreDeTranches = 4 * ForkJoinPool.getCommonPoolParallelism();
+        long taille = texteSonore.size();
+
+        List<LinkedHashMap<SyllabeFrancais, int[]>> comptesLocaux = IntStream.range(0, nombreDeTranches)
+                .parallel()
+                .mapToObj(tranche -> compteTranche(texteSonore,
+                        (int) (tranche * taille / nombreDeTranches),
+                        (int) ((tranche + 1) * taille / nombreDeTranches)))
+                .collect(Collectors.toList());
+
+        for (LinkedHashMap<SyllabeFrancais, int[]> compteLocal : comptesLocaux) {
+            for (Map.Entry<SyllabeFrancais, int[]> entree : compteLocal.entrySet()) {
+                this.merge(entree.getKey(), entree.getValue()[0], Integer::sum);
+            }
+        }
+    }
+
 
-        ArrayList<SyllabeFrancais> listeDesSyllabes = new ArrayList<>(this.keySet());
+    /**
+     * Compte les syllabes d'une tranche d'un {@code TexteSonore}.
+     * <p>
+     * Les comptes sont gardés dans des tableaux d'un entier pour éviter de créer un {@code Integer} à chaque
+     * occurrence.
+     *
+     * @param texteSonore le {@code TexteSonore} à compter.
+     * @param debut       la position de la première syllabe de la tranche.
+     * @param fin         la position qui suit la dernière syllabe de la tranche.
+     * @return le compte de chaque syllabe de la tranche, dans l'ordre de leur première occurrence.
+     */
+    private static LinkedHashMap<SyllabeFrancais, int[]> compteTranche(TexteSonore texteSonore, int debut, int fin) {
+        LinkedHashMap<SyllabeFrancais, int[]> resultat = new LinkedHashMap<>();
+
+        for (int i = debut; i < fin; i++) {
+            resultat.computeIfAbsent(texteSonore.get(i), syllabe -> new int[1])[0]++;
+        }
+
+        return resultat;
+    }
 
-        for (int i = 0; i < listeDesSyllabes.size(); i++) {
-            for (int j = i + 1; j < listeDesSyllabes.size(); j++) {
 
-                SyllabeFrancais candidat1 = listeDesSyllabes.get(i);
-                SyllabeFrancais candidat2 = listeDesSyllabes.get(j);
+    /**
+     * Comptabilise une occurrence de plus d'une {@code SyllabeFrancais}.
+     * <p>
+     * Permet de construire le compteur d'une suite de syllabes lue une syllabe à la fois.
+     *
+     * @param syllabe la syllabe rencontrée.
+     */
+    public void ajoute(SyllabeFrancais syllabe) {
+        this.merge(syllabe, 1, Integer::sum);
+    }
 
-                distance = candidat1.distanceA(candidat2);
 
-                if (distance < plusPetiteDistance) {
-                    plusPetiteDistance = distance;
-                    choixSyllabe1 = candidat1;
-                    choixSyllabe2 = candidat2;
-                }
+    /**
+     * Applique un remplacement au compteur sans recompter le {@code TexteSonore}.
+     * <p>
+     * Le compte de la syllabe remplacée est ajouté à celui de sa nouvelle valeur.  La nouvelle valeur prend la
+     * position de la première des deux syllabes dans le compteur, comme si le texte avait été réécrit puis recompté.
+     *
+     * @param paire la {@code PaireDeSyllabes} à appliquer.
+     */
+    public void fusionne(PaireDeSyllabes paire) {
+        SyllabeFrancais syllabeARemplacer = paire.getSyllabeARemplacer();
+        SyllabeFrancais nouvelleValeur = paire.getNouvelleValeur();
+        int compte = get(syllabeARemplacer) + get(nouvelleValeur);
+        ArrayList<Map.Entry<SyllabeFrancais, Integer>> entrees = new ArrayList<>(entrySet());
+
+        this.clear();
+        for (Map.Entry<SyllabeFrancais, Integer> entree : entrees) {
+            SyllabeFrancais syllabe = entree.getKey();
+
+            if (syllabe.equals(syllabeARemplacer) || syllabe.equals(nouvelleValeur)) {
+                this.putIfAbsent(nouvelleValeur, compte);
+            } else {
+                this.put(syllabe, entree.getValue());
             }
         }
+    }
 
-        if (get(choixSyllabe1) < get(choixSyllabe2)) {
-            paire = new PaireDeSyllabes(choixSyllabe1, choixSyllabe2);
-        } else {
-            paire = new PaireDeSyllabes(choixSyllabe2, choixSyllabe1);
+
+    /**
+     * Applique une suite de remplacements au compteur en un seul parcours.
+     * <p>
+     * Le résultat est le même que celui de {@code fusionne} appliqué à chaque paire, dans l'ordre.
+     *
+     * @param paires les remplacements à appliquer, dans l'ordre où ils ont été choisis.
+     */
+    public void fusionneTous(List<PaireDeSyllabes> paires) {
+        HashMap<SyllabeFrancais, SyllabeFrancais> correspondances = PlanDeReduction.composer(paires);
+        HashMap<SyllabeFrancais, Integer> comptes = new HashMap<>();
+        ArrayList<SyllabeFrancais> syllabes = new ArrayList<>(keySet());
+
+        for (Map.Entry<SyllabeFrancais, Integer> entree : entrySet()) {
+            SyllabeFrancais syllabe = entree.getKey();
+
+            comptes.merge(correspondances.getOrDefault(syllabe, syllabe), entree.getValue(), Integer::sum);
         }
-        return paire;
+
+        this.clear();
+        for (SyllabeFrancais syllabe : syllabes) {
+            SyllabeFrancais nouvelleValeur = correspondances.getOrDefault(syllabe, syllabe);
+
+            this.putIfAbsent(nouvelleValeur, comptes.get(nouvelleValeur));
+        }
+    }
+
+
+    /**
+     * Sélectionne les deux {@code SyllabeFrancais} les plus similaires dans le {@code CompteurDeSyllabes}
+     * <p>
+     * Selon leur fréquence dans le compteur, on détermine laquelle des deux devra être remplacée
+     * par l'autre à l'intérieur du {@code TexteSonore}.
+     * <p>
+     * La recherche se fait sur une copie du compteur en tableaux parallèles.  La distance complète d'une paire
+     * n'est pas calculée lorsque la borne inférieure tirée de la structure des deux syllabes atteint déjà la plus
+     * petite distance trouvée : la paire ne pourrait pas être choisie.
+     *
+     * @return une {@code PaireDeSyllabes} à partir de laquelle on peut effectuer une réduction de syllabes.
+     * @see ColonnesDeSyllabes
+     * @see SyllabeFrancais#borneInferieureDistance(int, int)
+     */
+    public PaireDeSyllabes choisirSyllabesARemplacer() {
+        return new ColonnesDeSyllabes(this).choisirSyllabesARemplacer();
     }
 }
@@ -25,6 +25,11 @@ public class ConsonneFrancais {
      */
     protected API_Consonne consonne2 = null;
 
+    /**
+     * Le nombre de bits de la signature d'un groupe de consonnes.
+     */
+    public static final int BITS_SIGNATURE = 2 * (API_Consonne.NOMBRE_DE_TRAITS + 1);
+
 
     /**
      * Construit un groupe avec une seule consonne.
@@ -123,6 +128,27 @@ public class ConsonneFrancais {
     }
 
 
+    /**
+     * Regroupe les caractéristiques sonores du groupe dans une signature.
+     * <p>
+     * Le premier bit indique la présence du groupe, suivi des traits de la consonne de base, d'un bit indiquant la
+     * présence de la consonne secondaire, puis de ses traits.  Deux groupes ont la même signature si et seulement
+     * si leur distance est nulle.
+     *
+     * @return la signature du groupe, sur {@code BITS_SIGNATURE} bits.
+     * @see API_Consonne#traits()
+     */
+    public int signature() {
+        int resultat = 1 | consonne1.traits() << 1;
+
+        if (consonne2 != null) {
+            resultat |= (1 | consonne2.traits() << 1) << (API_Consonne.NOMBRE_DE_TRAITS + 1);
+        }
+
+        return resultat;
+    }
+
+
     /**
      * Comptabilise les distances entre deux {@code ConsonneFrancais}.
      *
@@ -6,4 +6,120 @@ public class Constantes {
      * Le nombre minimal de syllabe que l'utilisateur doit entrer pour la réduction.
      */
     public static final int MIN_NOMBRE_SYLLABE = 1;
+
+    /**
+     * Le port utilisé par le serveur de réduction lorsqu'aucun port n'est donné en argument.
+     */
+    public static final int PORT_SERVEUR_DEFAUT = 8120;
+
+    /**
+     * Le nombre maximal de connexions en attente acceptées par le serveur de réduction.
+     */
+    public static final int FILE_ATTENTE_SERVEUR = 128;
+
+    /**
+     * Le nombre maximal de résultats conservés dans le cache des réductions.
+     */
+    public static final int CACHE_MAXIMUM_ENTREES = 4096;
+
+    /**
+     * La taille maximale, en octets, des résultats conservés dans le cache des réductions.
+     */
+    public static final long CACHE_MAXIMUM_OCTETS = 256L * 1024 * 1024;
+
+    /**
+     * L'extension ajoutée au nom d'un fichier pour nommer le fichier qui contient sa réduction.
+     */
+    public static final String EXTENSION_SORTIE = ".reduit";
+
+    /**
+     * L'extension ajoutée au nom d'un fichier pour nommer sa copie dans le {@code FormatBinaire}.
+     */
+    public static final String EXTENSION_BINAIRE = ".syl";
+
+    /**
+     * L'extension ajoutée au nom d'un fichier de réduction pour nommer sa version dans le {@code FormatCompact}.
+     */
+    public static final String EXTENSION_COMPACTE = ".compact";
+
+    /**
+     * L'extension ajoutée au nom d'un fichier pour nommer le fichier qui contient le point de reprise de sa
+     * réduction.
+     */
+    public static final String EXTENSION_REPRISE = ".reprise";
+
+    /**
+     * Le temps minimal, en millisecondes, entre deux sauvegardes d'un {@code PointDeReprise}.
+     */
+    public static final long INTERVALLE_POINT_DE_REPRISE = 30_000;
+
+    /**
+     * L'extension ajoutée au nom d'un fichier de reprise, d'une copie binaire ou d'une calibration pour nommer le
+     * fichier écrit avant de le remplacer.
+     */
+    public static final String EXTENSION_TEMPORAIRE = ".tmp";
+
+    /**
+     * Une estimation prudente du temps, en nanosecondes, pour comparer une paire de syllabes lors d'un balayage.
+     * Elle sert à décider si le premier choix exact d'une réduction avec échéance peut se faire à temps.
+     */
+    public static final long NANOSECONDES_PAR_PAIRE = 10;
+
+    /**
+     * Le nombre de tables de hachage d'un {@code MoteurParHachage}.
+     */
+    public static final int TABLES_DE_HACHAGE = 4;
+
+    /**
+     * L'écart de distance toléré par défaut entre le choix d'un {@code MoteurParHachage} et la paire la plus proche.
+     */
+    public static final int ECART_MOTEUR_PAR_HACHAGE = 2;
+
+    /**
+     * Le nombre de choix par défaut entre deux vérifications d'un {@code MoteurParHachage}.
+     */
+    public static final int INTERVALLE_VERIFICATION_HACHAGE = 256;
+
+    /**
+     * Le nombre maximal d'itérations d'un {@code MoteurParMedoides}.
+     */
+    public static final int ITERATIONS_MEDOIDES = 20;
+
+    /**
+     * Le nom du fichier, dans le répertoire de l'utilisateur, qui conserve la {@code CalibrationDesMoteurs}.
+     */
+    public static final String FICHIER_CALIBRATION = ".reduction-syllabes.properties";
+
+    /**
+     * Le seuil de la matrice utilisé sans {@code CalibrationDesMoteurs} valide, ou lorsque la matrice n'a pas été
+     * plus rapide dans les tailles essayées.
+     */
+    public static final int SEUIL_MATRICE_DEFAUT = 128;
+
+    /**
+     * Le seuil de l'index utilisé sans {@code CalibrationDesMoteurs} valide, ou lorsque l'index n'a pas été plus
+     * rapide dans les tailles essayées.
+     */
+    public static final int SEUIL_INDEX_DEFAUT = 4096;
+
+    /**
+     * La fraction de la mémoire maximale, en diviseur, que la matrice d'un {@code MoteurParMatrice} peut occuper
+     * lorsque le moteur est choisi par un {@code MoteurAdaptatif}.
+     */
+    public static final int PART_MEMOIRE_MATRICE = 4;
+
+    /**
+     * Le nombre de fichiers pouvant attendre entre deux étapes de la {@code PipelineDeReduction}.
+     */
+    public static final int CAPACITE_FILE_PIPELINE = 4;
+
+    /**
+     * Le nombre de syllabes à partir duquel un {@code TexteSonore} est compté en parallèle.
+     */
+    public static final int SEUIL_COMPTAGE_PARALLELE = 1 << 16;
+
+    /**
+     * Le nombre de syllabes à partir duquel un {@code TexteSonore} est réécrit en parallèle.
+     */
+    public static final int SEUIL_REECRITURE_PARALLELE = 1 << 16;
 }
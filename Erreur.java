@@ -4,6 +4,9 @@
 public enum Erreur {
     FICHIER_INEXISTANT( -101, Textes.MSSG_ERREUR_FICHIER_INEXISTANT ),
     NOMBRE_SYLLABE( -102, Textes.MSSG_ERREUR_NOMBRE_SYLLABE ),
+    ARGUMENTS( -103, Textes.MSSG_ERREUR_ARGUMENTS ),
+    SERVEUR( -104, Textes.MSSG_ERREUR_SERVEUR ),
+    LECTURE_ECRITURE( -105, Textes.MSSG_ERREUR_LECTURE_ECRITURE ),
     ;
 
     /**
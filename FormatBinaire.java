@@ -0,0 +1,336 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Scanner;
+
+
+/**
+ * Lit et écrit un {@code TexteSonore} dans un format binaire compact.
+ * <p>
+ * Le fichier contient un en-tête, le dictionnaire des syllabes distinctes, puis la suite des numéros des syllabes
+ * du texte dans ce dictionnaire :
+ * <pre>
+ * en-tête       : signature (4 octets), version (4), largeur des numéros (4), taille du dictionnaire (4),
+ *                 nombre de syllabes (4)
+ * dictionnaire  : une syllabe par entrée, sur 8 octets
+ * numéros       : un numéro par syllabe du texte, sur 1, 2 ou 4 octets selon la taille du dictionnaire
+ * </pre>
+ * Chaque entrée du dictionnaire range un octet par élément de la syllabe : les consonnes de l'attaque, la
+ * voyelle, la semi-voyelle, la nasalité puis les consonnes du coda.  Un élément présent vaut le rang de son
+ * symbole de l'API plus un, un élément absent vaut {@code 0}.
+ * <p>
+ * Le fichier est projeté en mémoire à la lecture : le texte est reconstruit sans analyse des symboles de l'API,
+ * et chaque syllabe du dictionnaire n'est créée qu'une fois.  Le {@code TexteSonore} reste une liste de syllabes :
+ * ses éléments sont des références partagées vers les syllabes du dictionnaire, et non des numéros.
+ *
+ * @see TexteSonore
+ */
+public class FormatBinaire {
+    /**
+     * Les quatre premiers octets d'un fichier dans ce format : {@code RSYL}.
+     */
+    private static final int SIGNATURE = 0x5253594C;
+
+    /**
+     * La version du format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * La taille de l'en-tête, en octets.
+     */
+    private static final int TAILLE_ENTETE = 5 * Integer.BYTES;
+
+
+    /**
+     * Écrit un {@code TexteSonore} dans un fichier.
+     * <p>
+     * Le texte est écrit dans un fichier temporaire qui remplace ensuite le fichier : une écriture interrompue ne
+     * laisse jamais un fichier incomplet.
+     *
+     * @param texteSonore le texte à écrire.
+     * @param fichier     le fichier à créer ou à remplacer.
+     * @throws IOException si le fichier ne peut pas être écrit.
+     */
+    public static void ecrire(TexteSonore texteSonore, Path fichier) throws IOException {
+        Path temporaire = fichier.resolveSibling(fichier.getFileName() + Constantes.EXTENSION_TEMPORAIRE);
+        LinkedHashMap<SyllabeFrancais, Integer> dictionnaire = new LinkedHashMap<>();
+
+        for (SyllabeFrancais syllabe : texteSonore) {
+            dictionnaire.putIfAbsent(syllabe, dictionnaire.size());
+        }
+
+        int largeur = largeurDesNumeros(dictionnaire.size());
+
+        try (DataOutputStream sortie = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporaire)))) {
+            sortie.writeInt(SIGNATURE);
+            sortie.writeInt(VERSION);
+            sortie.writeInt(largeur);
+            sortie.writeInt(dictionnaire.size());
+            sortie.writeInt(texteSonore.size());
+            for (SyllabeFrancais syllabe : dictionnaire.keySet()) {
+                sortie.writeLong(encoder(syllabe));
+            }
+            for (SyllabeFrancais syllabe : texteSonore) {
+                int numero = dictionnaire.get(syllabe);
+
+                if (largeur == Byte.BYTES) {
+                    sortie.writeByte(numero);
+                } else if (largeur == Short.BYTES) {
+                    sortie.writeShort(numero);
+                } else {
+                    sortie.writeInt(numero);
+                }
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temporaire);
+            throw e;
+        }
+        Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+
+    /**
+     * Lit un {@code TexteSonore} écrit par {@code ecrire}, en projetant le fichier en mémoire.
+     * <p>
+     * L'en-tête, chaque entrée du dictionnaire et chaque numéro sont vérifiés : un fichier corrompu ou tronqué
+     * est signalé par une {@code IOException}.
+     *
+     * @param fichier le fichier à lire.
+     * @return le texte lu.  Sa représentation textuelle est identique à celle du texte écrit.
+     * @throws IOException si le fichier ne peut pas être lu ou n'est pas dans ce format.
+     */
+    public static TexteSonore lire(Path fichier) throws IOException {
+        TexteSonore resultat = new TexteSonore();
+        MappedByteBuffer tampon;
+
+        try (FileChannel canal = FileChannel.open(fichier, StandardOpenOption.READ)) {
+            tampon = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+
+        if (tampon.remaining() < TAILLE_ENTETE || tampon.getInt() != SIGNATURE || tampon.getInt() != VERSION) {
+            throw new IOException("format binaire invalide : " + fichier);
+        }
+
+        int largeur = tampon.getInt();
+        int tailleDictionnaire = tampon.getInt();
+        int taille = tampon.getInt();
+
+        if ((largeur != Byte.BYTES && largeur != Short.BYTES && largeur != Integer.BYTES)
+                || tailleDictionnaire < 0 || taille < 0
+                || tampon.remaining() != (long) tailleDictionnaire * Long.BYTES + (long) taille * largeur) {
+            throw new IOException("format binaire invalide : " + fichier);
+        }
+
+        SyllabeFrancais[] dictionnaire = new SyllabeFrancais[tailleDictionnaire];
+
+        try {
+            for (int i = 0; i < dictionnaire.length; i++) {
+                dictionnaire[i] = decoder(tampon.getLong());
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("format binaire invalide : " + fichier, e);
+        }
+
+        resultat.ensureCapacity(taille);
+        for (int i = 0; i < taille; i++) {
+            int numero;
+
+            if (largeur == Byte.BYTES) {
+                numero = Byte.toUnsignedInt(tampon.get());
+            } else if (largeur == Short.BYTES) {
+                numero = Short.toUnsignedInt(tampon.getShort());
+            } else {
+                numero = tampon.getInt();
+            }
+            if (numero < 0 || numero >= dictionnaire.length) {
+                throw new IOException("format binaire invalide : " + fichier);
+            }
+            resultat.add(dictionnaire[numero]);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Charge le {@code TexteSonore} d'un fichier texte en passant par une copie binaire.
+     * <p>
+     * La copie binaire porte le nom du fichier suivi de {@code Constantes.EXTENSION_BINAIRE}.  Elle est lue si elle
+     * est au moins aussi récente que le fichier texte.  Sinon, ou si elle ne peut pas être décodée, le fichier
+     * texte est analysé et la copie est (re)créée pour les prochains chargements.
+     *
+     * @param fichier le fichier texte.
+     * @return le texte lu.
+     * @throws IOException si le fichier texte ne peut pas être lu.
+     */
+    public static TexteSonore charger(Path fichier) throws IOException {
+        TexteSonore resultat = null;
+        Path copie = fichierBinaire(fichier);
+
+        if (Files.isRegularFile(copie)
+                && Files.getLastModifiedTime(copie).compareTo(Files.getLastModifiedTime(fichier)) >= 0) {
+            try {
+                resultat = lire(copie);
+            } catch (IOException | RuntimeException e) {
+                resultat = null;
+            }
+        }
+
+        if (resultat == null) {
+            try (Scanner scanner = new Scanner(fichier, StandardCharsets.UTF_8)) {
+                resultat = new TexteSonore(scanner);
+            }
+            try {
+                ecrire(resultat, copie);
+            } catch (IOException e) {
+                // La copie ne sert qu'à accélérer les prochains chargements : le texte lu reste valide.
+                Files.deleteIfExists(copie);
+            }
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Donne le fichier qui contient la copie binaire d'un fichier texte.
+     *
+     * @param fichier le fichier texte.
+     * @return la copie binaire, placée à côté du fichier texte.
+     */
+    public static Path fichierBinaire(Path fichier) {
+        return fichier.resolveSibling(fichier.getFileName() + Constantes.EXTENSION_BINAIRE);
+    }
+
+
+    /**
+     * Donne le nombre d'octets nécessaires pour écrire un numéro du dictionnaire.
+     *
+     * @param tailleDictionnaire le nombre de syllabes distinctes.
+     * @return {@code 1}, {@code 2} ou {@code 4}.
+     */
+    private static int largeurDesNumeros(int tailleDictionnaire) {
+        int resultat = Integer.BYTES;
+
+        if (tailleDictionnaire <= 1 << Byte.SIZE) {
+            resultat = Byte.BYTES;
+        } else if (tailleDictionnaire <= 1 << Short.SIZE) {
+            resultat = Short.BYTES;
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Range les éléments d'une syllabe dans un entier, un octet par élément.
+     *
+     * @param syllabe la syllabe à encoder.
+     * @return l'entrée du dictionnaire.
+     */
+    static long encoder(SyllabeFrancais syllabe) {
+        long resultat = 0;
+
+        if (syllabe.attaque != null) {
+            resultat |= rang(syllabe.attaque.consonne1) | rang(syllabe.attaque.consonne2) << 8;
+        }
+        resultat |= rang(syllabe.noyau.voyelle) << 16 | rang(syllabe.noyau.semiVoyelle) << 24;
+        resultat |= (syllabe.noyau.nasal ? 1L : 0L) << 32;
+        if (syllabe.coda != null) {
+            resultat |= rang(syllabe.coda.consonne1) << 40 | rang(syllabe.coda.consonne2) << 48;
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Reconstruit une syllabe à partir de son entrée dans le dictionnaire.
+     *
+     * @param entree l'entrée produite par {@code encoder}.
+     * @return la syllabe.
+     * @throws IllegalArgumentException si l'entrée ne désigne pas une syllabe : voyelle absente ou rang inconnu.
+     */
+    static SyllabeFrancais decoder(long entree) {
+        ConsonneFrancais attaque = consonnes(entree);
+        ConsonneFrancais coda = consonnes(entree >>> 40);
+        API_Voyelle semiVoyelle = voyelle(entree >>> 24);
+        API_Voyelle voyelle = voyelle(entree >>> 16);
+
+        if (voyelle == null) {
+            throw new IllegalArgumentException("entree de dictionnaire invalide : " + Long.toHexString(entree));
+        }
+
+        return new SyllabeFrancais(attaque, new VoyelleFrancais(semiVoyelle, voyelle, (entree >>> 32 & 1) != 0), coda);
+    }
+
+
+    /**
+     * Reconstruit un groupe de consonnes à partir de deux octets.
+     *
+     * @param octets les rangs de la consonne de base et de la consonne secondaire, dans les deux octets de poids
+     *               faible.
+     * @return le groupe de consonnes, ou {@code null} s'il est absent.
+     */
+    private static ConsonneFrancais consonnes(long octets) {
+        ConsonneFrancais resultat = null;
+        API_Consonne consonne1 = symbole(API_Consonne.values(), (int) (octets & 0xFF));
+        API_Consonne consonne2 = symbole(API_Consonne.values(), (int) (octets >>> 8 & 0xFF));
+
+        if (consonne1 != null) {
+            resultat = new ConsonneFrancais(consonne1, consonne2);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Reconstruit une voyelle à partir d'un octet.
+     *
+     * @param octet le rang de la voyelle, dans l'octet de poids faible.
+     * @return la voyelle, ou {@code null} si elle est absente.
+     */
+    private static API_Voyelle voyelle(long octet) {
+        return symbole(API_Voyelle.values(), (int) (octet & 0xFF));
+    }
+
+
+    /**
+     * Donne le symbole de l'API rangé dans un octet d'une entrée.
+     *
+     * @param symboles les symboles de l'API, dans l'ordre de leurs rangs.
+     * @param rang     le rang du symbole plus un, ou {@code 0} s'il est absent.
+     * @param <T>      le type des symboles.
+     * @return le symbole, ou {@code null} s'il est absent.
+     * @throws IllegalArgumentException si le rang ne désigne aucun symbole.
+     */
+    private static <T> T symbole(T[] symboles, int rang) {
+        if (rang > symboles.length) {
+            throw new IllegalArgumentException("rang de symbole invalide : " + rang);
+        }
+
+        return rang == 0 ? null : symboles[rang - 1];
+    }
+
+
+    /**
+     * Donne le rang d'un symbole de l'API plus un, ou {@code 0} s'il est absent.
+     *
+     * @param symbole le symbole.
+     * @return la valeur rangée dans un octet de l'entrée.
+     */
+    private static long rang(Enum<?> symbole) {
+        return symbole == null ? 0 : symbole.ordinal() + 1;
+    }
+}
@@ -0,0 +1,134 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.regex.Pattern;
+
+
+/**
+ * Écrit un texte réduit sous la forme d'un dictionnaire suivi d'une suite de numéros compactés au bit près, et
+ * le relit dans sa forme textuelle.
+ * <p>
+ * Un texte réduit à {@code k} syllabes distinctes est très répétitif : chaque syllabe y est remplacée par son
+ * numéro dans le dictionnaire, écrit sur {@code ceil(log2(k))} bits.
+ * <pre>
+ * en-tête       : signature (4 octets), version (4), taille du dictionnaire (4), nombre de syllabes (4),
+ *                 bits par numéro (4)
+ * dictionnaire  : la représentation textuelle de chaque syllabe, précédée de sa longueur
+ * numéros       : les numéros des syllabes, bit de poids fort en premier, le dernier octet complété par des 0
+ * </pre>
+ *
+ * @see TexteSonore#toString()
+ */
+public class FormatCompact {
+    /**
+     * Les quatre premiers octets d'un fichier dans ce format : {@code RSYC}.
+     */
+    private static final int SIGNATURE = 0x52535943;
+
+    /**
+     * La version du format.
+     */
+    private static final int VERSION = 1;
+
+
+    /**
+     * Écrit un texte dans un fichier.
+     *
+     * @param texte   la représentation textuelle d'un {@code TexteSonore}.
+     * @param fichier le fichier à créer ou à remplacer.
+     * @throws IOException si le fichier ne peut pas être écrit.
+     */
+    public static void ecrire(String texte, Path fichier) throws IOException {
+        String[] syllabes = texte.isEmpty() ? new String[0] : texte.split(Pattern.quote(TexteSonore.SEPARATEUR), -1);
+        LinkedHashMap<String, Integer> dictionnaire = new LinkedHashMap<>();
+
+        for (String syllabe : syllabes) {
+            dictionnaire.putIfAbsent(syllabe, dictionnaire.size());
+        }
+
+        int bits = bitsParNumero(dictionnaire.size());
+
+        try (DataOutputStream sortie = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(fichier)))) {
+            long tampon = 0;
+            int bitsEnAttente = 0;
+
+            sortie.writeInt(SIGNATURE);
+            sortie.writeInt(VERSION);
+            sortie.writeInt(dictionnaire.size());
+            sortie.writeInt(syllabes.length);
+            sortie.writeInt(bits);
+            for (String syllabe : dictionnaire.keySet()) {
+                sortie.writeUTF(syllabe);
+            }
+            for (String syllabe : syllabes) {
+                tampon = tampon << bits | dictionnaire.get(syllabe);
+                bitsEnAttente += bits;
+                while (bitsEnAttente >= Byte.SIZE) {
+                    bitsEnAttente -= Byte.SIZE;
+                    sortie.write((int) (tampon >>> bitsEnAttente));
+                }
+            }
+            if (bitsEnAttente > 0) {
+                sortie.write((int) (tampon << (Byte.SIZE - bitsEnAttente)));
+            }
+        }
+    }
+
+
+    /**
+     * Lit un fichier écrit par {@code ecrire} et reconstruit le texte.
+     *
+     * @param fichier le fichier à lire.
+     * @return la représentation textuelle du {@code TexteSonore}, identique au texte écrit.
+     * @throws IOException si le fichier ne peut pas être lu ou n'est pas dans ce format.
+     */
+    public static String lire(Path fichier) throws IOException {
+        StringBuilder resultat = new StringBuilder();
+
+        try (DataInputStream entree = new DataInputStream(new BufferedInputStream(Files.newInputStream(fichier)))) {
+            if (entree.readInt() != SIGNATURE || entree.readInt() != VERSION) {
+                throw new IOException("format compact invalide : " + fichier);
+            }
+
+            String[] dictionnaire = new String[entree.readInt()];
+            int taille = entree.readInt();
+            int bits = entree.readInt();
+            long masque = (1L << bits) - 1;
+            long tampon = 0;
+            int bitsDisponibles = 0;
+
+            for (int i = 0; i < dictionnaire.length; i++) {
+                dictionnaire[i] = entree.readUTF();
+            }
+            for (int i = 0; i < taille; i++) {
+                while (bitsDisponibles < bits) {
+                    tampon = tampon << Byte.SIZE | entree.readUnsignedByte();
+                    bitsDisponibles += Byte.SIZE;
+                }
+                bitsDisponibles -= bits;
+                if (i > 0) {
+                    resultat.append(TexteSonore.SEPARATEUR);
+                }
+                resultat.append(dictionnaire[(int) (tampon >>> bitsDisponibles & masque)]);
+            }
+        }
+
+        return resultat.toString();
+    }
+
+
+    /**
+     * Donne le nombre de bits nécessaires pour écrire un numéro du dictionnaire.
+     *
+     * @param tailleDictionnaire le nombre de syllabes distinctes.
+     * @return le plus petit {@code b} tel que {@code 2^b >= tailleDictionnaire}.
+     */
+    private static int bitsParNumero(int tailleDictionnaire) {
+        return tailleDictionnaire <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(tailleDictionnaire - 1);
+    }
+}
@@ -0,0 +1,236 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntToLongFunction;
+
+
+/**
+ * Un index métrique (arbre BK) sur des éléments numérotés de {@code 0} à {@code taille - 1}.
+ * <p>
+ * Chaque nœud range ses enfants selon leur distance entière au nœud.  Puisque la distance respecte l'inégalité du
+ * triangle, une recherche autour d'un élément à une distance d'au plus {@code rayon} n'a besoin de visiter, sous
+ * un nœud situé à une distance {@code d}, que les enfants rangés entre {@code d - rayon} et {@code d + rayon}.
+ * <p>
+ * La distance entre syllabes de {@code SyllabeFrancais.distanceA} est une somme de distances de Hamming sur les
+ * traits des phonèmes, où un phonème absent est à une distance fixe de tout phonème présent, au moins égale à la
+ * plus grande distance entre deux phonèmes présents : c'est bien une distance au sens métrique.
+ * <p>
+ * Un élément retiré reste dans l'arbre pour guider les recherches, mais n'est plus jamais retourné.  L'index
+ * compte les distances calculées par ses recherches, ce qui permet de mesurer l'élagage obtenu.
+ *
+ * @see MoteurParIndex
+ */
+public class IndexMetrique {
+    /**
+     * Un nœud de l'arbre.  Ses enfants sont indicés par leur distance au nœud.
+     */
+    private static class Noeud {
+        private final int element;
+        private Noeud[] enfants = new Noeud[0];
+
+        private Noeud(int element) {
+            this.element = element;
+        }
+    }
+
+    private final IntBinaryOperator distance;
+    private final boolean[] presents;
+    private Noeud racine = null;
+    private int nombreDElements = 0;
+
+    private long requetes = 0;
+    private long distancesCalculees = 0;
+    private long elementsActifsParcourables = 0;
+
+
+    /**
+     * Construit un index vide.
+     *
+     * @param taille   le nombre d'éléments pouvant être ajoutés, numérotés de {@code 0} à {@code taille - 1}.
+     * @param distance la distance entre deux éléments.  Doit respecter l'inégalité du triangle.
+     */
+    public IndexMetrique(int taille, IntBinaryOperator distance) {
+        this.distance = distance;
+        this.presents = new boolean[taille];
+    }
+
+
+    /**
+     * Ajoute un élément à l'index.
+     *
+     * @param element le numéro de l'élément.
+     */
+    public void ajoute(int element) {
+        Noeud nouveau = new Noeud(element);
+
+        if (racine == null) {
+            racine = nouveau;
+        } else {
+            Noeud noeud = racine;
+            Noeud enfant = null;
+
+            while (noeud != null) {
+                int d = distance.applyAsInt(element, noeud.element);
+
+                if (d >= noeud.enfants.length) {
+                    noeud.enfants = Arrays.copyOf(noeud.enfants, d + 1);
+                }
+                enfant = noeud.enfants[d];
+                if (enfant == null) {
+                    noeud.enfants[d] = nouveau;
+                }
+                noeud = enfant;
+            }
+        }
+        presents[element] = true;
+        nombreDElements++;
+    }
+
+
+    /**
+     * Retire un élément de l'index.  Les recherches ne le retourneront plus.
+     *
+     * @param element le numéro de l'élément.
+     */
+    public void retire(int element) {
+        if (presents[element]) {
+            presents[element] = false;
+            nombreDElements--;
+        }
+    }
+
+
+    /**
+     * Cherche l'élément le plus proche d'un élément donné, autre que lui-même.
+     *
+     * @param element  le numéro de l'élément autour duquel chercher.
+     * @param priorite départage les éléments à la même distance : celui qui a la plus petite priorité est retourné.
+     * @return le numéro de l'élément le plus proche, ou {@code -1} si l'index ne contient aucun autre élément.
+     */
+    public int plusProcheVoisin(int element, IntToLongFunction priorite) {
+        int resultat = -1;
+        int distanceMinimale = Integer.MAX_VALUE;
+        long prioriteMinimale = Long.MAX_VALUE;
+        ArrayDeque<Noeud> aVisiter = new ArrayDeque<>();
+
+        debuterRequete(aVisiter);
+        while (!aVisiter.isEmpty()) {
+            Noeud noeud = aVisiter.pop();
+            int d = distance.applyAsInt(element, noeud.element);
+
+            distancesCalculees++;
+            if (noeud.element != element && presents[noeud.element]
+                    && (d < distanceMinimale
+                    || (d == distanceMinimale && priorite.applyAsLong(noeud.element) < prioriteMinimale))) {
+                resultat = noeud.element;
+                distanceMinimale = d;
+                prioriteMinimale = priorite.applyAsLong(noeud.element);
+            }
+            empilerEnfants(aVisiter, noeud, d, distanceMinimale);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Parcourt les éléments situés à une distance d'au plus {@code rayon} d'un élément donné, autres que lui-même.
+     *
+     * @param element le numéro de l'élément autour duquel chercher.
+     * @param rayon   la distance maximale des éléments parcourus.
+     * @param action  l'action appelée avec le numéro de chaque élément trouvé.
+     */
+    public void voisinsDansRayon(int element, int rayon, IntConsumer action) {
+        ArrayDeque<Noeud> aVisiter = new ArrayDeque<>();
+
+        debuterRequete(aVisiter);
+        while (!aVisiter.isEmpty()) {
+            Noeud noeud = aVisiter.pop();
+            int d = distance.applyAsInt(element, noeud.element);
+
+            distancesCalculees++;
+            if (d <= rayon && noeud.element != element && presents[noeud.element]) {
+                action.accept(noeud.element);
+            }
+            empilerEnfants(aVisiter, noeud, d, rayon);
+        }
+    }
+
+
+    /**
+     * Comptabilise une nouvelle requête et place la racine dans la pile des nœuds à visiter.
+     *
+     * @param aVisiter la pile des nœuds à visiter.
+     */
+    private void debuterRequete(ArrayDeque<Noeud> aVisiter) {
+        requetes++;
+        elementsActifsParcourables += nombreDElements;
+        if (racine != null) {
+            aVisiter.push(racine);
+        }
+    }
+
+
+    /**
+     * Place dans la pile les enfants d'un nœud qui peuvent contenir un élément à une distance d'au plus
+     * {@code rayon} de l'élément cherché.
+     *
+     * @param aVisiter la pile des nœuds à visiter.
+     * @param noeud    le nœud visité.
+     * @param d        la distance entre l'élément cherché et le nœud.
+     * @param rayon    la distance maximale recherchée.
+     */
+    private static void empilerEnfants(ArrayDeque<Noeud> aVisiter, Noeud noeud, int d, int rayon) {
+        int debut = rayon == Integer.MAX_VALUE ? 0 : Math.max(0, d - rayon);
+        int fin = rayon == Integer.MAX_VALUE ? noeud.enfants.length - 1 : Math.min(noeud.enfants.length - 1, d + rayon);
+
+        for (int k = debut; k <= fin; k++) {
+            if (noeud.enfants[k] != null) {
+                aVisiter.push(noeud.enfants[k]);
+            }
+        }
+    }
+
+
+    /**
+     * Donne le nombre d'éléments présents dans l'index.
+     *
+     * @return le nombre d'éléments ajoutés et non retirés.
+     */
+    public int getNombreDElements() { return nombreDElements; }
+
+    /**
+     * Donne le nombre de requêtes effectuées.
+     *
+     * @return le nombre de recherches de plus proche voisin et de recherches dans un rayon.
+     */
+    public long getRequetes() { return requetes; }
+
+    /**
+     * Donne le nombre de distances calculées par les requêtes.
+     *
+     * @return le nombre de distances calculées par les requêtes.
+     */
+    public long getDistancesCalculees() { return distancesCalculees; }
+
+
+    /**
+     * Donne la proportion des distances évitées par l'arbre, par rapport à une comparaison avec chaque élément
+     * présent lors de chaque requête.
+     *
+     * @return une valeur entre {@code 0} et {@code 1}, ou {@code 0} si aucune requête n'a été effectuée.
+     */
+    public double tauxDElagage() {
+        return elementsActifsParcourables == 0 ? 0
+                : Math.max(0, 1 - (double) distancesCalculees / elementsActifsParcourables);
+    }
+
+
+    @Override
+    public String toString() {
+        return "requetes=" + requetes + "\n"
+                + "distances=" + distancesCalculees + "\n"
+                + "elagage=" + tauxDElagage() + "\n";
+    }
+}
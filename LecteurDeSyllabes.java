@@ -0,0 +1,90 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+
+/**
+ * Lit une suite de syllabes une syllabe à la fois.
+ * <p>
+ * Contrairement à {@code TexteSonore}, le lecteur ne conserve pas les syllabes lues : il permet de parcourir un
+ * texte de longueur arbitraire avec une mémoire bornée.  La lecture s'arrête à la première syllabe invalide ou au
+ * premier séparateur manquant, comme pour {@code TexteSonore}.
+ *
+ * @see TexteSonore
+ * @see SyllabeFrancais
+ */
+public class LecteurDeSyllabes implements Iterator<SyllabeFrancais>, AutoCloseable {
+    private final Scanner scanner;
+    private SyllabeFrancais suivante;
+    private boolean termine = false;
+
+
+    /**
+     * Construit un lecteur sur le contenu d'un {@code Scanner}.
+     *
+     * @param scanner le {@code Scanner} qui contient la suite de syllabes.  Il est fermé avec le lecteur.
+     */
+    public LecteurDeSyllabes(Scanner scanner) {
+        this.scanner = scanner;
+        scanner.useDelimiter("");
+        suivante = lireSuivante();
+    }
+
+
+    /**
+     * Lit la prochaine syllabe et le séparateur qui la suit.
+     *
+     * @return la syllabe lue, ou {@code null} s'il n'y a plus de syllabe valide.
+     */
+    private SyllabeFrancais lireSuivante() {
+        SyllabeFrancais resultat = null;
+
+        if (!termine) {
+            try {
+                if (scanner.hasNext()) {
+                    resultat = SyllabeFrancais.lire(scanner);
+                    scanner.next(TexteSonore.SEPARATEUR);
+                }
+            } catch (NoSuchElementException e) {
+                termine = true;
+            }
+            termine = termine || resultat == null;
+        }
+
+        return resultat;
+    }
+
+
+    @Override
+    public boolean hasNext() {
+        return suivante != null;
+    }
+
+
+    /**
+     * Retourne la syllabe courante et lit la suivante.
+     *
+     * @return la syllabe courante.
+     * @throws NoSuchElementException s'il n'y a plus de syllabe.
+     */
+    @Override
+    public SyllabeFrancais next() {
+        if (suivante == null) {
+            throw new NoSuchElementException();
+        }
+
+        SyllabeFrancais resultat = suivante;
+        suivante = lireSuivante();
+
+        return resultat;
+    }
+
+
+    /**
+     * Ferme le {@code Scanner} du lecteur.
+     */
+    @Override
+    public void close() {
+        scanner.close();
+    }
+}
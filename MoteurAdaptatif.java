@@ -0,0 +1,128 @@
+import java.util.logging.Logger;
+
+
+/**
+ * Un moteur de sélection exact qui choisit, au premier choix, le moteur le mieux adapté au compteur à réduire.
+ * <p>
+ * Le choix se fait entre les moteurs exacts, qui donnent tous le même plan, à partir du nombre de syllabes
+ * distinctes qui restent après la fusion des signatures identiques, du nombre de fusions à faire et de la mémoire
+ * disponible, selon les seuils de la {@code CalibrationDesMoteurs} :
+ * <ul>
+ *     <li>le {@code MoteurParBalayage} pour une seule fusion, un vocabulaire sous
+ *     {@code CalibrationDesMoteurs.TAILLE_MINIMALE} ou sous le seuil de la matrice ;</li>
+ *     <li>le {@code MoteurParIndex} à partir du seuil de l'index, ou si la matrice ne tient pas dans un tableau ou
+ *     dans la part de la mémoire qui lui est permise ;</li>
+ *     <li>le {@code MoteurParMatrice} sinon.</li>
+ * </ul>
+ * Les moteurs exacts travaillent sur le compteur, sur un seul fil : la longueur du texte et le nombre de
+ * processeurs n'interviennent pas dans le choix.  Ils sont journalisés avec le moteur choisi et la raison du choix,
+ * au niveau {@code CONFIG}, pour ne pas mêler une ligne à la sortie de chaque réduction.  Pour les voir, on peut
+ * donner à {@code java.util.logging.config.file} un fichier de configuration qui contient :
+ * <pre>
+ * handlers = java.util.logging.ConsoleHandler
+ * java.util.logging.ConsoleHandler.level = CONFIG
+ * MoteurAdaptatif.level = CONFIG
+ * </pre>
+ *
+ * @see CalibrationDesMoteurs
+ */
+public class MoteurAdaptatif implements MoteurDeSelection {
+    private static final Logger JOURNAL = Logger.getLogger(MoteurAdaptatif.class.getName());
+
+    private final int nombreDeSyllabes;
+    private MoteurDeSelection moteur = null;
+    private String raison = null;
+
+
+    /**
+     * Construit un moteur adaptatif.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes demandé au {@code PlanDeReduction}.
+     */
+    public MoteurAdaptatif(int nombreDeSyllabes) {
+        this.nombreDeSyllabes = nombreDeSyllabes;
+    }
+
+
+    @Override
+    public PaireDeSyllabes choisirSyllabesARemplacer(CompteurDeSyllabes compteur) {
+        if (moteur == null) {
+            choisirMoteur(compteur);
+        }
+        return moteur.choisirSyllabesARemplacer(compteur);
+    }
+
+
+    @Override
+    public void fusionne(PaireDeSyllabes paire) {
+        moteur.fusionne(paire);
+    }
+
+
+    /**
+     * Choisit le moteur qui réduira le compteur, puis journalise ce choix.
+     *
+     * @param compteur le compteur à réduire.
+     */
+    private void choisirMoteur(CompteurDeSyllabes compteur) {
+        int distinctes = compteur.size();
+        int fusions = distinctes - nombreDeSyllabes;
+
+        if (fusions <= 1) {
+            moteur = new MoteurParBalayage();
+            raison = "une seule fusion";
+        } else if (distinctes < CalibrationDesMoteurs.TAILLE_MINIMALE) {
+            moteur = new MoteurParBalayage();
+            raison = "vocabulaire sous la plus petite taille calibrée (" + CalibrationDesMoteurs.TAILLE_MINIMALE + ")";
+        } else {
+            choisirMoteurCalibre(distinctes);
+        }
+
+        JOURNAL.config(() -> moteur.getClass().getSimpleName() + " : " + raison + " ; syllabes distinctes="
+                + distinctes + ", cible=" + nombreDeSyllabes + ", syllabes du texte="
+                + compteur.values().stream().mapToLong(Integer::longValue).sum()
+                + ", processeurs=" + Runtime.getRuntime().availableProcessors());
+    }
+
+
+    /**
+     * Choisit le moteur selon les seuils de la {@code CalibrationDesMoteurs} et la mémoire disponible.
+     *
+     * @param distinctes le nombre de syllabes distinctes du compteur.
+     */
+    private void choisirMoteurCalibre(int distinctes) {
+        CalibrationDesMoteurs calibration = CalibrationDesMoteurs.courante();
+        long octetsMatrice = MoteurParMatrice.cases(distinctes);
+        long octetsPermis = Runtime.getRuntime().maxMemory() / Constantes.PART_MEMOIRE_MATRICE;
+
+        if (distinctes < calibration.getSeuilMatrice()) {
+            moteur = new MoteurParBalayage();
+            raison = "vocabulaire sous le seuil de la matrice (" + calibration.getSeuilMatrice() + ")";
+        } else if (distinctes >= calibration.getSeuilIndex()) {
+            moteur = new MoteurParIndex();
+            raison = "vocabulaire au-dessus du seuil de l'index (" + calibration.getSeuilIndex() + ")";
+        } else if (!MoteurParMatrice.peutContenir(distinctes) || octetsMatrice > octetsPermis) {
+            moteur = new MoteurParIndex();
+            raison = "matrice de " + octetsMatrice + " octets au-delà des " + octetsPermis + " permis";
+        } else {
+            moteur = new MoteurParMatrice();
+            raison = "vocabulaire entre les seuils de la matrice (" + calibration.getSeuilMatrice()
+                    + ") et de l'index (" + calibration.getSeuilIndex() + ")";
+        }
+    }
+
+
+    /**
+     * Donne le moteur choisi.
+     *
+     * @return le moteur, ou {@code null} avant le premier choix.
+     */
+    public MoteurDeSelection getMoteur() { return moteur; }
+
+    /**
+     * Donne la raison du choix du moteur.
+     *
+     * @return la raison, ou {@code null} avant le premier choix.
+     */
+    public String getRaison() { return raison; }
+}
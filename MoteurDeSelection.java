@@ -0,0 +1,32 @@
+/**
+ * Une stratégie pour choisir, à chaque étape d'un {@code PlanDeReduction}, la paire de syllabes à fusionner.
+ * <p>
+ * Un moteur est utilisé pour un seul plan : il construit ses structures à partir du {@code CompteurDeSyllabes} au
+ * premier choix, puis il est averti de chaque paire choisie.  Le plan n'applique pas chaque paire au compteur dès
+ * qu'elle est choisie : après le premier choix, le moteur doit suivre lui-même les syllabes restantes et leurs
+ * comptes.
+ *
+ * @see PlanDeReduction
+ * @see CompteurDeSyllabes#choisirSyllabesARemplacer()
+ */
+public interface MoteurDeSelection {
+    /**
+     * Choisit la prochaine paire de syllabes à fusionner.
+     * <p>
+     * Un moteur exact choisit la même paire que {@code CompteurDeSyllabes.choisirSyllabesARemplacer}.
+     *
+     * @param compteur le compteur à réduire.  Il contient au moins deux syllabes, et n'est à jour qu'au premier
+     *                 choix.
+     * @return une {@code PaireDeSyllabes} dont la syllabe à remplacer sera fusionnée dans sa nouvelle valeur.
+     */
+    PaireDeSyllabes choisirSyllabesARemplacer(CompteurDeSyllabes compteur);
+
+
+    /**
+     * Avertit le moteur qu'une paire a été choisie.  Elle est appliquée au compteur comme par
+     * {@code CompteurDeSyllabes.fusionne}, au plus tard à la fin du plan.
+     *
+     * @param paire la paire choisie.
+     */
+    void fusionne(PaireDeSyllabes paire);
+}
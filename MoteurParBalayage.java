@@ -0,0 +1,73 @@
+import java.util.ArrayDeque;
+
+
+/**
+ * Le moteur de sélection le plus simple : compare toutes les paires de syllabes du compteur à chaque choix.
+ * <p>
+ * Il ne conserve d'un choix à l'autre que la copie du compteur en tableaux parallèles, à laquelle il applique
+ * chaque fusion.  Il est avantageux lorsque le nombre de syllabes distinctes est petit.
+ * <p>
+ * Un moteur non strict retient, à chaque balayage, un ensemble maximal de paires disjointes à la plus petite
+ * distance, puis les rend une à une avant de balayer de nouveau.  Le plan s'arrête toujours au nombre de syllabes
+ * demandé, les paires restantes étant abandonnées.  Le nombre de balayages est divisé d'autant, mais le plan peut
+ * différer de celui du moteur strict : après une fusion, la syllabe gardée peut former avec une autre une paire à
+ * la même distance qui viendrait avant les paires restantes.
+ *
+ * @see CompteurDeSyllabes#choisirSyllabesARemplacer()
+ * @see ColonnesDeSyllabes
+ */
+public class MoteurParBalayage implements MoteurDeSelection {
+    private final boolean strict;
+    private final ArrayDeque<PaireDeSyllabes> enAttente = new ArrayDeque<>();
+    private ColonnesDeSyllabes colonnes = null;
+    private long balayages = 0;
+
+
+    /**
+     * Construit un moteur strict, qui choisit une seule paire par balayage.
+     */
+    public MoteurParBalayage() {
+        this(true);
+    }
+
+    /**
+     * Construit un moteur.
+     *
+     * @param strict {@code true} pour choisir une seule paire par balayage, {@code false} pour choisir plusieurs
+     *               paires disjointes à la même distance.
+     */
+    public MoteurParBalayage(boolean strict) {
+        this.strict = strict;
+    }
+
+
+    @Override
+    public PaireDeSyllabes choisirSyllabesARemplacer(CompteurDeSyllabes compteur) {
+        if (colonnes == null) {
+            colonnes = new ColonnesDeSyllabes(compteur);
+        }
+        if (enAttente.isEmpty()) {
+            balayages++;
+            if (strict) {
+                enAttente.add(colonnes.choisirSyllabesARemplacer());
+            } else {
+                enAttente.addAll(colonnes.choisirPairesDisjointes(colonnes.size() / 2));
+            }
+        }
+        return enAttente.poll();
+    }
+
+
+    @Override
+    public void fusionne(PaireDeSyllabes paire) {
+        colonnes.fusionne(paire);
+    }
+
+
+    /**
+     * Donne le nombre de balayages effectués.
+     *
+     * @return le nombre de parcours de toutes les paires du compteur.
+     */
+    public long getBalayages() { return balayages; }
+}
@@ -0,0 +1,435 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+
+/**
+ * Un moteur de sélection approximatif pour les compteurs de très nombreuses syllabes distinctes, fondé sur un
+ * hachage sensible à la localité des signatures.
+ * <p>
+ * Chaque table trie les syllabes selon leur signature, dont les bits ont été permutés au hasard : deux syllabes
+ * proches ont peu de traits différents, partagent souvent un long préfixe et se retrouvent voisines dans au moins
+ * une table.  Seules les syllabes voisines dans une table sont comparées.  Ces paires candidates sont triées une
+ * fois pour toutes par distance, puisque la fusion d'une paire ne change la signature d'aucune syllabe : chaque
+ * choix reprend la liste là où le précédent l'a laissée, en sautant les paires dont une syllabe a été retirée.
+ * Les tables sont reconstruites lorsque la liste est épuisée ou que le nombre de syllabes a diminué de moitié.
+ * <p>
+ * Un choix sur {@code intervalleDeVerification} est comparé à la paire la plus proche du compteur.  Si sa
+ * distance dépasse la plus petite distance de plus de l'{@code ecart} toléré, le choix est compté comme un écart,
+ * et les tables sont reconstruites en comparant chaque syllabe à deux fois plus de voisines.
+ *
+ * @see NoyauDeDistances#distance(long, long)
+ * @see MoteurParBalayage
+ */
+public class MoteurParHachage implements MoteurDeSelection {
+    /**
+     * Le nombre initial de syllabes suivantes avec lesquelles chaque syllabe forme une paire candidate.
+     */
+    private static final int FENETRE = 8;
+
+    /**
+     * Le nombre maximal de syllabes suivantes avec lesquelles chaque syllabe forme une paire candidate.
+     */
+    private static final int FENETRE_MAXIMALE = 32;
+
+    /**
+     * La graine des permutations, fixe pour que deux réductions du même texte donnent le même plan.
+     */
+    private static final long GRAINE = 0x5EED_5E1AL;
+
+    /**
+     * Le décalage du numéro de la première syllabe dans l'encodage d'une paire candidate.
+     */
+    private static final int DECALAGE_PREMIERE = 26;
+
+    /**
+     * Le décalage de la distance dans l'encodage d'une paire candidate.
+     */
+    private static final int DECALAGE_DISTANCE = 2 * DECALAGE_PREMIERE;
+
+    /**
+     * Le masque du numéro d'une syllabe dans l'encodage d'une paire candidate.
+     */
+    private static final long MASQUE_NUMERO = (1L << DECALAGE_PREMIERE) - 1;
+
+    private final int ecart;
+    private final int intervalleDeVerification;
+    private final Random aleatoire = new Random(GRAINE);
+
+    private SyllabeFrancais[] syllabes = null;
+    private Map<SyllabeFrancais, Integer> numeros;
+    private long[] signatures;
+    private int[] structures;
+    private int[] rangs;
+    private int[] comptes;
+    private boolean[] actives;
+    private int actifs;
+    private int actifsALaConstruction;
+    private int fenetre = FENETRE;
+
+    private long[] candidates = new long[0];
+    private int curseur = 0;
+
+    private long choix = 0;
+    private long verifications = 0;
+    private long ecarts = 0;
+
+
+    /**
+     * Construit un moteur avec l'écart et l'intervalle de vérification par défaut.
+     *
+     * @see Constantes#ECART_MOTEUR_PAR_HACHAGE
+     * @see Constantes#INTERVALLE_VERIFICATION_HACHAGE
+     */
+    public MoteurParHachage() {
+        this(Constantes.ECART_MOTEUR_PAR_HACHAGE, Constantes.INTERVALLE_VERIFICATION_HACHAGE);
+    }
+
+    /**
+     * Construit un moteur.
+     *
+     * @param ecart                    l'écart toléré entre la distance de la paire choisie et la plus petite
+     *                                 distance du compteur.
+     * @param intervalleDeVerification le nombre de choix entre deux vérifications, ou {@code 0} pour ne jamais
+     *                                 vérifier.  Une vérification compare toutes les paires du compteur.
+     */
+    public MoteurParHachage(int ecart, int intervalleDeVerification) {
+        this.ecart = ecart;
+        this.intervalleDeVerification = intervalleDeVerification;
+    }
+
+
+    @Override
+    public PaireDeSyllabes choisirSyllabesARemplacer(CompteurDeSyllabes compteur) {
+        if (syllabes == null) {
+            initialiser(compteur);
+        }
+        if (actifs <= actifsALaConstruction / 2) {
+            construire();
+        }
+
+        long candidate = prochaineCandidate();
+        int a = (int) (candidate >>> DECALAGE_PREMIERE & MASQUE_NUMERO);
+        int b = (int) (candidate & MASQUE_NUMERO);
+
+        choix++;
+        if (intervalleDeVerification > 0 && choix % intervalleDeVerification == 0) {
+            verifier((int) (candidate >>> DECALAGE_DISTANCE));
+        }
+
+        return paireDe(a, b);
+    }
+
+
+    @Override
+    public void fusionne(PaireDeSyllabes paire) {
+        int retiree = numeros.get(paire.getSyllabeARemplacer());
+        int gardee = numeros.get(paire.getNouvelleValeur());
+
+        actives[retiree] = false;
+        actifs--;
+        comptes[gardee] += comptes[retiree];
+        rangs[gardee] = Math.min(rangs[gardee], rangs[retiree]);
+    }
+
+
+    /**
+     * Numérote les syllabes du compteur et construit les premières tables.
+     *
+     * @param compteur le compteur à réduire.
+     */
+    private void initialiser(CompteurDeSyllabes compteur) {
+        int taille = compteur.size();
+
+        syllabes = compteur.keySet().toArray(new SyllabeFrancais[0]);
+        numeros = new HashMap<>();
+        signatures = new long[taille];
+        structures = new int[taille];
+        rangs = new int[taille];
+        comptes = new int[taille];
+        actives = new boolean[taille];
+
+        for (int u = 0; u < taille; u++) {
+            numeros.put(syllabes[u], u);
+            signatures[u] = syllabes[u].signature();
+            structures[u] = syllabes[u].structure();
+            rangs[u] = u;
+            comptes[u] = compteur.get(syllabes[u]);
+            actives[u] = true;
+        }
+        actifs = taille;
+
+        construire();
+    }
+
+
+    /**
+     * Donne la prochaine paire candidate dont les deux syllabes sont actives, en reconstruisant les tables si la
+     * liste est épuisée.
+     *
+     * @return la paire candidate encodée.
+     */
+    private long prochaineCandidate() {
+        long resultat = -1;
+
+        while (resultat < 0) {
+            while (curseur < candidates.length && !estActive(candidates[curseur])) {
+                curseur++;
+            }
+            if (curseur < candidates.length) {
+                resultat = candidates[curseur];
+            } else {
+                construire();
+            }
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Indique si les deux syllabes d'une paire candidate sont actives.
+     *
+     * @param candidate la paire candidate encodée.
+     * @return {@code true} si aucune des deux syllabes n'a été retirée.
+     */
+    private boolean estActive(long candidate) {
+        return actives[(int) (candidate >>> DECALAGE_PREMIERE & MASQUE_NUMERO)]
+                && actives[(int) (candidate & MASQUE_NUMERO)];
+    }
+
+
+    /**
+     * Construit les tables sur les syllabes actives et trie leurs paires candidates par distance.
+     * <p>
+     * Chaque table range les syllabes selon leur signature dont les bits sont permutés au hasard, puis forme une
+     * paire entre chaque syllabe et les {@code fenetre} syllabes qui la suivent.  Seuls les bits qui varient dans
+     * au moins une signature sont permutés.
+     */
+    private void construire() {
+        int[] numerosActifs = new int[actifs];
+        long variables = 0;
+        long premiere = -1;
+        int n = 0;
+
+        for (int u = 0; u < actives.length; u++) {
+            if (actives[u]) {
+                numerosActifs[n++] = u;
+                variables |= premiere < 0 ? 0 : signatures[u] ^ premiere;
+                premiere = premiere < 0 ? signatures[u] : premiere;
+            }
+        }
+
+        int[] positions = new int[Long.bitCount(variables)];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = Long.numberOfTrailingZeros(variables);
+            variables &= variables - 1;
+        }
+
+        long[] cles = new long[actifs];
+        long[] paires = new long[Constantes.TABLES_DE_HACHAGE * actifs * fenetre];
+        int nombreDePaires = 0;
+
+        for (int t = 0; t < Constantes.TABLES_DE_HACHAGE; t++) {
+            permuter(positions);
+            for (int i = 0; i < actifs; i++) {
+                cles[i] = (cle(signatures[numerosActifs[i]], positions) << DECALAGE_PREMIERE | i) ^ Long.MIN_VALUE;
+            }
+            Arrays.sort(cles);
+
+            for (int i = 0; i < actifs; i++) {
+                for (int j = i + 1; j < actifs && j <= i + fenetre; j++) {
+                    paires[nombreDePaires++] = encoder(numerosActifs[(int) (cles[i] & MASQUE_NUMERO)],
+                            numerosActifs[(int) (cles[j] & MASQUE_NUMERO)]);
+                }
+            }
+        }
+
+        candidates = Arrays.copyOf(paires, nombreDePaires);
+        Arrays.sort(candidates);
+        curseur = 0;
+        actifsALaConstruction = actifs;
+    }
+
+
+    /**
+     * Permute les positions au hasard.
+     *
+     * @param positions les positions des bits variables.
+     */
+    private void permuter(int[] positions) {
+        for (int i = positions.length - 1; i > 0; i--) {
+            int j = aleatoire.nextInt(i + 1);
+            int position = positions[i];
+
+            positions[i] = positions[j];
+            positions[j] = position;
+        }
+    }
+
+
+    /**
+     * Donne la clé de tri d'une signature dans une table.
+     *
+     * @param signature la signature de la syllabe.
+     * @param positions les positions des bits variables, dans l'ordre de la table.
+     * @return les bits de la signature rassemblés dans l'ordre des positions, le premier étant le plus fort.
+     */
+    private static long cle(long signature, int[] positions) {
+        long resultat = 0;
+
+        for (int position : positions) {
+            resultat = resultat << 1 | signature >>> position & 1;
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Encode une paire candidate pour que l'ordre des valeurs soit celui des distances.
+     *
+     * @param a le numéro d'une des syllabes.
+     * @param b le numéro de l'autre syllabe.
+     * @return la distance suivie des deux numéros, le plus petit en premier.
+     */
+    private long encoder(int a, int b) {
+        return (long) NoyauDeDistances.distance(signatures[a], signatures[b]) << DECALAGE_DISTANCE
+                | (long) Math.min(a, b) << DECALAGE_PREMIERE | Math.max(a, b);
+    }
+
+
+    /**
+     * Vérifie qu'aucune paire du compteur n'est plus proche que la paire choisie de plus de l'{@code ecart}
+     * toléré.  Si une telle paire existe, l'écart est compté et la fenêtre des tables est agrandie.
+     * <p>
+     * Les syllabes sont regroupées par structure : deux groupes dont la borne inférieure de distance atteint le
+     * seuil ne sont pas comparés.
+     *
+     * @param distance la distance de la paire choisie.
+     * @see SyllabeFrancais#borneInferieureDistance(int, int)
+     */
+    private void verifier(int distance) {
+        int seuil = distance - ecart;
+        boolean trouvee = false;
+
+        verifications++;
+        if (seuil > 0) {
+            long[] ordre = new long[actifs];
+            int[] debuts = new int[actifs + 1];
+            int groupes = 0;
+            int n = 0;
+
+            for (int u = 0; u < actives.length; u++) {
+                if (actives[u]) {
+                    ordre[n++] = (long) structures[u] << Integer.SIZE | u;
+                }
+            }
+            Arrays.sort(ordre);
+            for (int i = 0; i < n; i++) {
+                if (i == 0 || ordre[i] >>> Integer.SIZE != ordre[i - 1] >>> Integer.SIZE) {
+                    debuts[groupes++] = i;
+                }
+            }
+            debuts[groupes] = n;
+
+            for (int g = 0; g < groupes && !trouvee; g++) {
+                for (int h = g; h < groupes && !trouvee; h++) {
+                    if (SyllabeFrancais.borneInferieureDistance((int) (ordre[debuts[g]] >>> Integer.SIZE),
+                            (int) (ordre[debuts[h]] >>> Integer.SIZE)) < seuil) {
+                        trouvee = existePaire(ordre, debuts[g], debuts[g + 1], debuts[h], debuts[h + 1], seuil);
+                    }
+                }
+            }
+        }
+
+        if (trouvee) {
+            ecarts++;
+            fenetre = Math.min(2 * fenetre, FENETRE_MAXIMALE);
+            curseur = candidates.length;
+        }
+    }
+
+
+    /**
+     * Cherche, entre deux groupes de syllabes, une paire plus proche que le seuil.
+     *
+     * @param ordre  les syllabes actives, triées par structure.
+     * @param debut1 le début du premier groupe dans {@code ordre}.
+     * @param fin1   la fin exclue du premier groupe.
+     * @param debut2 le début du second groupe, égal à {@code debut1} ou situé après {@code fin1}.
+     * @param fin2   la fin exclue du second groupe.
+     * @param seuil  la distance à ne pas atteindre.
+     * @return {@code true} si une telle paire existe.
+     */
+    private boolean existePaire(long[] ordre, int debut1, int fin1, int debut2, int fin2, int seuil) {
+        boolean resultat = false;
+
+        for (int i = debut1; i < fin1 && !resultat; i++) {
+            long signature = signatures[(int) ordre[i]];
+
+            for (int j = debut1 == debut2 ? i + 1 : debut2; j < fin2 && !resultat; j++) {
+                resultat = NoyauDeDistances.distance(signature, signatures[(int) ordre[j]]) < seuil;
+            }
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Construit la paire à fusionner entre deux syllabes, selon la règle de fréquence de
+     * {@code CompteurDeSyllabes.choisirSyllabesARemplacer}.
+     *
+     * @param a le numéro d'une des syllabes.
+     * @param b le numéro de l'autre syllabe.
+     * @return la paire dont la syllabe à remplacer est la moins fréquente, ou la dernière dans l'ordre du compteur.
+     */
+    private PaireDeSyllabes paireDe(int a, int b) {
+        int choix1 = rangs[a] < rangs[b] ? a : b;
+        int choix2 = rangs[a] < rangs[b] ? b : a;
+        PaireDeSyllabes paire;
+
+        if (comptes[choix1] < comptes[choix2]) {
+            paire = new PaireDeSyllabes(syllabes[choix1], syllabes[choix2]);
+        } else {
+            paire = new PaireDeSyllabes(syllabes[choix2], syllabes[choix1]);
+        }
+        return paire;
+    }
+
+
+    /**
+     * Donne le nombre de choix vérifiés.
+     *
+     * @return le nombre de choix comparés à la paire la plus proche du compteur.
+     */
+    public long getVerifications() { return verifications; }
+
+    /**
+     * Donne le nombre d'écarts constatés.
+     *
+     * @return le nombre de choix vérifiés dont la distance dépassait l'écart toléré.
+     */
+    public long getEcarts() { return ecarts; }
+
+
+    /**
+     * Donne la proportion des choix vérifiés qui dépassaient l'écart toléré.
+     *
+     * @return une valeur entre {@code 0} et {@code 1}, ou {@code 0} si aucun choix n'a été vérifié.
+     */
+    public double tauxDEcart() {
+        return verifications == 0 ? 0 : (double) ecarts / verifications;
+    }
+
+
+    @Override
+    public String toString() {
+        return "choix=" + choix + "\n"
+                + "verifications=" + verifications + "\n"
+                + "ecarts=" + ecarts + "\n"
+                + "taux=" + tauxDEcart() + "\n";
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Un moteur de sélection exact qui cherche les plus proches voisins dans un {@code IndexMetrique}.
+ * <p>
+ * Lorsque les syllabes distinctes sont nombreuses, une recherche dans l'arbre évite de calculer la distance à la
+ * plupart des syllabes.  Les distances elles-mêmes sont lues dans une {@code TableDesDistances}.
+ *
+ * @see IndexMetrique
+ * @see TableDesDistances
+ */
+public class MoteurParIndex extends MoteurParPlusProcheVoisin {
+    private TableDesDistances table;
+    private IndexMetrique index;
+
+
+    @Override
+    protected void initialiserStructures() {
+        table = new TableDesDistances(syllabes);
+        index = new IndexMetrique(syllabes.size(), table::distance);
+
+        for (int u = 0; u < syllabes.size(); u++) {
+            index.ajoute(u);
+        }
+    }
+
+
+    @Override
+    protected int distance(int a, int b) {
+        return table.distance(a, b);
+    }
+
+
+    @Override
+    protected void retirer(int syllabe) {
+        index.retire(syllabe);
+    }
+
+
+    @Override
+    protected void chercherPlusProche(int u) {
+        int voisin = index.plusProcheVoisin(u, v -> cle(u, v));
+
+        if (voisin >= 0) {
+            proposer(u, voisin, distance(u, voisin));
+        }
+    }
+
+
+    /**
+     * Propose la syllabe gardée aux seules syllabes qui en sont assez proches pour la préférer à leur voisin
+     * courant : elles se trouvent dans le rayon de la plus grande distance au plus proche voisin.
+     *
+     * @param gardee le numéro de la syllabe gardée.
+     */
+    @Override
+    protected void rapprocher(int gardee) {
+        int rayon = 0;
+
+        for (int u = 0; u < syllabes.size(); u++) {
+            if (estActive(u) && distanceAuPlusProche(u) != Integer.MAX_VALUE) {
+                rayon = Math.max(rayon, distanceAuPlusProche(u));
+            }
+        }
+        index.voisinsDansRayon(gardee, rayon, u -> proposer(u, gardee, distance(u, gardee)));
+    }
+
+
+    /**
+     * Donne l'index utilisé par le moteur, pour consulter ses statistiques.
+     *
+     * @return l'index, ou {@code null} avant le premier choix.
+     */
+    public IndexMetrique getIndex() { return index; }
+}
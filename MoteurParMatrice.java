@@ -0,0 +1,92 @@
+/**
+ * Un moteur de sélection exact qui calcule une seule fois toutes les distances entre les syllabes du compteur.
+ * <p>
+ * Les distances entre syllabes tiennent dans un octet : elles sont rangées dans une matrice triangulaire
+ * compactée, qui occupe environ {@code n * n / 2} octets pour {@code n} syllabes distinctes.  La ligne d'une
+ * syllabe retirée est simplement ignorée, et seules les lignes dont le minimum désignait cette syllabe sont
+ * parcourues de nouveau.  Ce moteur convient aux vocabulaires de quelques milliers de syllabes distinctes ; il
+ * refuse ceux dont la matrice ne tient pas dans un tableau (voir {@code peutContenir}).
+ * <p>
+ * La matrice est remplie ligne par ligne par {@code NoyauDeDistances}, à partir des signatures des syllabes.
+ *
+ * @see MoteurParPlusProcheVoisin
+ * @see NoyauDeDistances
+ */
+public class MoteurParMatrice extends MoteurParPlusProcheVoisin {
+    /**
+     * Le nombre maximal de cases de la matrice : la plus grande taille de tableau permise par la plupart des
+     * machines virtuelles.
+     */
+    private static final long CASES_MAXIMALES = Integer.MAX_VALUE - 8;
+
+    private int taille;
+    private byte[] distances;
+
+
+    @Override
+    protected void initialiserStructures() {
+        long[] signatures = syllabes.stream().mapToLong(SyllabeFrancais::signature).toArray();
+        int[] ligne = new int[syllabes.size()];
+
+        taille = syllabes.size();
+        if (!peutContenir(taille)) {
+            throw new IllegalStateException("matrice trop grande : " + taille + " syllabes distinctes");
+        }
+        distances = new byte[(int) cases(taille)];
+
+        for (int a = 0; a < taille; a++) {
+            NoyauDeDistances.distances(signatures, a, a + 1, taille, ligne);
+            for (int b = a + 1; b < taille; b++) {
+                distances[position(a, b)] = (byte) ligne[b];
+            }
+        }
+    }
+
+
+    /**
+     * Indique si la matrice d'un vocabulaire tient dans un tableau.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes du vocabulaire.
+     * @return {@code true} si le moteur peut réduire ce vocabulaire.
+     */
+    public static boolean peutContenir(int nombreDeSyllabes) {
+        return cases(nombreDeSyllabes) <= CASES_MAXIMALES;
+    }
+
+
+    /**
+     * Donne le nombre de cases de la matrice triangulaire compactée.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes.
+     * @return le nombre de paires de syllabes distinctes, qui est aussi la taille de la matrice en octets.
+     */
+    static long cases(int nombreDeSyllabes) {
+        return (long) nombreDeSyllabes * (nombreDeSyllabes - 1) / 2;
+    }
+
+
+    /**
+     * Donne la position d'une paire dans la matrice triangulaire compactée.
+     *
+     * @param a le plus petit numéro de la paire.
+     * @param b le plus grand numéro de la paire.
+     * @return la position de la distance entre {@code a} et {@code b}.
+     */
+    private int position(int a, int b) {
+        return (int) ((long) a * (2L * taille - a - 1) / 2 + b - a - 1);
+    }
+
+
+    @Override
+    protected int distance(int a, int b) {
+        int resultat = 0;
+
+        if (a < b) {
+            resultat = distances[position(a, b)];
+        } else if (a > b) {
+            resultat = distances[position(b, a)];
+        }
+
+        return resultat;
+    }
+}
@@ -0,0 +1,246 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+
+
+/**
+ * Un moteur de sélection qui regroupe directement les syllabes du compteur en autant de groupes que de syllabes
+ * à obtenir, plutôt que de fusionner la paire la plus proche à chaque étape.
+ * <p>
+ * Les groupes sont formés par un algorithme des k-médoïdes pondéré par la fréquence.  Les médoïdes de départ sont
+ * les syllabes les plus fréquentes.  Chaque syllabe est ensuite rattachée au médoïde le plus proche, puis chaque
+ * groupe prend pour médoïde le membre qui minimise la somme des distances aux autres membres, pondérées par leur
+ * compte.  Ces deux étapes sont répétées jusqu'à ce que les médoïdes ne changent plus, ou au plus
+ * {@code Constantes.ITERATIONS_MEDOIDES} fois.
+ * <p>
+ * Chaque groupe est remplacé par son membre le plus fréquent.  Les paires rendues par le moteur remplacent chaque
+ * autre membre par ce représentant : le {@code PlanDeReduction} les applique comme les paires d'un moteur par
+ * fusion, et le texte est réécrit une seule fois.
+ * <p>
+ * Le nombre de paires rendues dépend du nombre de groupes : le {@code PlanDeReduction} refuse ce moteur si ce
+ * nombre diffère du nombre de syllabes demandé, ou s'il devrait reprendre une réduction interrompue, dont le
+ * compteur déjà en partie réduit donnerait d'autres groupes.
+ *
+ * @see PlanDeReduction#distorsion(CompteurDeSyllabes)
+ * @see NoyauDeDistances#distance(long, long)
+ */
+public class MoteurParMedoides implements MoteurDeSelection {
+    private final int nombreDeGroupes;
+    private final ArrayDeque<PaireDeSyllabes> paires = new ArrayDeque<>();
+    private boolean regroupe = false;
+    private int iterations = 0;
+    private long distorsion = 0;
+
+    private SyllabeFrancais[] syllabes;
+    private long[] signatures;
+    private int[] comptes;
+    private int[] medoides;
+    private int[] groupes;
+
+
+    /**
+     * Construit un moteur.
+     *
+     * @param nombreDeGroupes le nombre de groupes à former, égal au nombre de syllabes distinctes demandé au
+     *                        {@code PlanDeReduction}.
+     */
+    public MoteurParMedoides(int nombreDeGroupes) {
+        this.nombreDeGroupes = nombreDeGroupes;
+    }
+
+
+    @Override
+    public PaireDeSyllabes choisirSyllabesARemplacer(CompteurDeSyllabes compteur) {
+        if (!regroupe) {
+            regrouper(compteur);
+            regroupe = true;
+        }
+        if (paires.isEmpty()) {
+            throw new IllegalStateException("plus de groupes que de syllabes demandees : " + nombreDeGroupes);
+        }
+        return paires.poll();
+    }
+
+
+    @Override
+    public void fusionne(PaireDeSyllabes paire) {
+    }
+
+
+    /**
+     * Regroupe les syllabes du compteur et prépare les paires qui remplacent chaque membre par son représentant.
+     *
+     * @param compteur le compteur à réduire.
+     */
+    private void regrouper(CompteurDeSyllabes compteur) {
+        int taille = compteur.size();
+        boolean change = true;
+
+        syllabes = new SyllabeFrancais[taille];
+        signatures = new long[taille];
+        comptes = new int[taille];
+        groupes = new int[taille];
+
+        int i = 0;
+        for (Map.Entry<SyllabeFrancais, Integer> entree : compteur.entrySet()) {
+            syllabes[i] = entree.getKey();
+            signatures[i] = entree.getKey().signature();
+            comptes[i] = entree.getValue();
+            i++;
+        }
+
+        medoides = plusFrequentes(Math.min(nombreDeGroupes, taille));
+        while (change && iterations < Constantes.ITERATIONS_MEDOIDES) {
+            rattacher();
+            change = recentrer();
+            iterations++;
+        }
+        rattacher();
+
+        int[] representants = medoides.clone();
+        for (int u = 0; u < taille; u++) {
+            int representant = representants[groupes[u]];
+
+            if (comptes[u] > comptes[representant] || comptes[u] == comptes[representant] && u < representant) {
+                representants[groupes[u]] = u;
+            }
+        }
+
+        for (int u = 0; u < taille; u++) {
+            int representant = representants[groupes[u]];
+
+            if (u != representant) {
+                paires.add(new PaireDeSyllabes(syllabes[u], syllabes[representant]));
+                distorsion += (long) comptes[u] * NoyauDeDistances.distance(signatures[u], signatures[representant]);
+            }
+        }
+    }
+
+
+    /**
+     * Donne les syllabes les plus fréquentes.
+     *
+     * @param nombre le nombre de syllabes à donner.
+     * @return les numéros des syllabes les plus fréquentes, de la plus fréquente à la moins fréquente.  Entre deux
+     * syllabes aussi fréquentes, la première dans l'ordre du compteur vient en premier.
+     */
+    private int[] plusFrequentes(int nombre) {
+        long[] ordre = new long[comptes.length];
+        int[] resultat = new int[nombre];
+
+        for (int u = 0; u < comptes.length; u++) {
+            ordre[u] = (long) (Integer.MAX_VALUE - comptes[u]) << Integer.SIZE | u;
+        }
+        Arrays.sort(ordre);
+        for (int g = 0; g < nombre; g++) {
+            resultat[g] = (int) ordre[g];
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Rattache chaque syllabe au médoïde le plus proche.  Entre deux médoïdes à la même distance, le premier groupe
+     * est choisi.
+     */
+    private void rattacher() {
+        for (int u = 0; u < syllabes.length; u++) {
+            int plusPetiteDistance = Integer.MAX_VALUE;
+
+            for (int g = 0; g < medoides.length && plusPetiteDistance > 0; g++) {
+                int distance = NoyauDeDistances.distance(signatures[u], signatures[medoides[g]]);
+
+                if (distance < plusPetiteDistance) {
+                    plusPetiteDistance = distance;
+                    groupes[u] = g;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Remplace le médoïde de chaque groupe par le membre qui minimise la somme pondérée des distances aux autres
+     * membres.  Le médoïde courant n'est remplacé que par un membre strictement meilleur.
+     *
+     * @return {@code true} si au moins un médoïde a changé.
+     */
+    private boolean recentrer() {
+        boolean resultat = false;
+        int[] debuts = new int[medoides.length + 1];
+        int[] membres = new int[syllabes.length];
+
+        for (int u = 0; u < syllabes.length; u++) {
+            debuts[groupes[u] + 1]++;
+        }
+        for (int g = 0; g < medoides.length; g++) {
+            debuts[g + 1] += debuts[g];
+        }
+        int[] positions = Arrays.copyOf(debuts, medoides.length);
+        for (int u = 0; u < syllabes.length; u++) {
+            membres[positions[groupes[u]]++] = u;
+        }
+
+        for (int g = 0; g < medoides.length; g++) {
+            long meilleurCout = cout(medoides[g], membres, debuts[g], debuts[g + 1], Long.MAX_VALUE);
+
+            for (int m = debuts[g]; m < debuts[g + 1]; m++) {
+                long cout = cout(membres[m], membres, debuts[g], debuts[g + 1], meilleurCout);
+
+                if (cout < meilleurCout) {
+                    meilleurCout = cout;
+                    medoides[g] = membres[m];
+                    resultat = true;
+                }
+            }
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Calcule la somme des distances d'un candidat aux membres d'un groupe, pondérées par leur compte.
+     *
+     * @param candidat le numéro du candidat.
+     * @param membres  les membres des groupes, rangés groupe après groupe.
+     * @param debut    le début du groupe dans {@code membres}.
+     * @param fin      la fin exclue du groupe.
+     * @param limite   le coût au-delà duquel le calcul peut s'arrêter.
+     * @return la somme pondérée, ou une valeur au moins égale à {@code limite} si elle l'atteint.
+     */
+    private long cout(int candidat, int[] membres, int debut, int fin, long limite) {
+        long resultat = 0;
+
+        for (int m = debut; m < fin && resultat < limite; m++) {
+            resultat += (long) comptes[membres[m]] * NoyauDeDistances.distance(signatures[candidat],
+                    signatures[membres[m]]);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Donne le nombre d'itérations effectuées.
+     *
+     * @return le nombre de rattachements suivis d'un recentrage.
+     */
+    public int getIterations() { return iterations; }
+
+    /**
+     * Donne le nombre de groupes à former.
+     *
+     * @return le nombre de syllabes distinctes que ce moteur laisse dans le compteur.
+     */
+    public int getNombreDeGroupes() { return nombreDeGroupes; }
+
+    /**
+     * Donne la distorsion du regroupement.
+     *
+     * @return la somme, sur les syllabes remplacées, de leur compte multiplié par leur distance à leur
+     * représentant.
+     */
+    public long getDistorsion() { return distorsion; }
+}
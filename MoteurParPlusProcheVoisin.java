@@ -0,0 +1,246 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+
+
+/**
+ * Un moteur de sélection exact qui conserve le plus proche voisin de chaque syllabe d'un choix à l'autre.
+ * <p>
+ * Les syllabes du compteur reçoivent un numéro au premier choix.  Leur rang suit l'ordre du compteur : lorsqu'une
+ * paire est fusionnée, la syllabe gardée prend le plus petit rang des deux, comme dans
+ * {@code CompteurDeSyllabes.fusionne}.  Entre deux paires à la même distance, la paire choisie est celle dont les
+ * rangs viennent en premier, ce qui reproduit le choix de {@code CompteurDeSyllabes.choisirSyllabesARemplacer}.
+ * <p>
+ * Après une fusion, seuls les plus proches voisins qui désignaient la syllabe retirée sont recalculés, ainsi que
+ * ceux que le nouveau rang de la syllabe gardée rend meilleurs.  Les sous-classes fournissent la distance et
+ * peuvent accélérer ces recherches.
+ *
+ * @see MoteurParIndex
+ */
+public abstract class MoteurParPlusProcheVoisin implements MoteurDeSelection {
+    /**
+     * Les syllabes du compteur, indicées par leur numéro.  Vaut {@code null} avant le premier choix.
+     */
+    protected ArrayList<SyllabeFrancais> syllabes = null;
+
+    private HashMap<SyllabeFrancais, Integer> numeros;
+    private int[] rangs;
+    private int[] comptes;
+    private boolean[] actives;
+    private int[] plusProche;
+    private int[] distanceAuPlusProche;
+
+
+    /**
+     * Construit les structures propres au moteur, une fois les syllabes numérotées.
+     */
+    protected abstract void initialiserStructures();
+
+
+    /**
+     * Donne la distance entre deux syllabes.
+     *
+     * @param a le numéro de la première syllabe.
+     * @param b le numéro de la seconde syllabe.
+     * @return la même valeur que {@code SyllabeFrancais.distanceA}.
+     */
+    protected abstract int distance(int a, int b);
+
+
+    /**
+     * Avertit les structures propres au moteur qu'une syllabe a été retirée.
+     *
+     * @param syllabe le numéro de la syllabe retirée.
+     */
+    protected void retirer(int syllabe) {
+    }
+
+
+    @Override
+    public PaireDeSyllabes choisirSyllabesARemplacer(CompteurDeSyllabes compteur) {
+        if (syllabes == null) {
+            initialiser(compteur);
+        }
+
+        int choix = -1;
+
+        for (int u = 0; u < syllabes.size(); u++) {
+            if (actives[u] && plusProche[u] >= 0
+                    && (choix < 0 || distanceAuPlusProche[u] < distanceAuPlusProche[choix]
+                    || (distanceAuPlusProche[u] == distanceAuPlusProche[choix]
+                    && cle(u, plusProche[u]) < cle(choix, plusProche[choix])))) {
+                choix = u;
+            }
+        }
+
+        return paireDe(choix, plusProche[choix]);
+    }
+
+
+    @Override
+    public void fusionne(PaireDeSyllabes paire) {
+        int retiree = numeros.get(paire.getSyllabeARemplacer());
+        int gardee = numeros.get(paire.getNouvelleValeur());
+
+        actives[retiree] = false;
+        comptes[gardee] += comptes[retiree];
+        retirer(retiree);
+
+        if (rangs[retiree] < rangs[gardee]) {
+            rangs[gardee] = rangs[retiree];
+            rapprocher(gardee);
+        }
+
+        for (int u = 0; u < syllabes.size(); u++) {
+            if (actives[u] && (u == gardee || plusProche[u] == retiree)) {
+                recalculerPlusProche(u);
+            }
+        }
+    }
+
+
+    /**
+     * Numérote les syllabes du compteur et calcule le plus proche voisin de chacune.
+     *
+     * @param compteur le compteur à réduire.
+     */
+    private void initialiser(CompteurDeSyllabes compteur) {
+        syllabes = new ArrayList<>(compteur.keySet());
+        numeros = new HashMap<>();
+        rangs = new int[syllabes.size()];
+        comptes = new int[syllabes.size()];
+        actives = new boolean[syllabes.size()];
+        plusProche = new int[syllabes.size()];
+        distanceAuPlusProche = new int[syllabes.size()];
+
+        for (int u = 0; u < syllabes.size(); u++) {
+            numeros.put(syllabes.get(u), u);
+            rangs[u] = u;
+            comptes[u] = compteur.get(syllabes.get(u));
+            actives[u] = true;
+        }
+
+        initialiserStructures();
+
+        for (int u = 0; u < syllabes.size(); u++) {
+            recalculerPlusProche(u);
+        }
+    }
+
+
+    /**
+     * Construit la paire à fusionner entre deux syllabes, selon la règle de fréquence de
+     * {@code CompteurDeSyllabes.choisirSyllabesARemplacer}.
+     *
+     * @param a le numéro d'une des syllabes.
+     * @param b le numéro de l'autre syllabe.
+     * @return la paire dont la syllabe à remplacer est la moins fréquente, ou la dernière dans l'ordre du compteur.
+     */
+    private PaireDeSyllabes paireDe(int a, int b) {
+        int choix1 = rangs[a] < rangs[b] ? a : b;
+        int choix2 = rangs[a] < rangs[b] ? b : a;
+        PaireDeSyllabes paire;
+
+        if (comptes[choix1] < comptes[choix2]) {
+            paire = new PaireDeSyllabes(syllabes.get(choix1), syllabes.get(choix2));
+        } else {
+            paire = new PaireDeSyllabes(syllabes.get(choix2), syllabes.get(choix1));
+        }
+        return paire;
+    }
+
+
+    /**
+     * Indique si une syllabe est encore dans le compteur.
+     *
+     * @param u le numéro de la syllabe.
+     * @return {@code true} si la syllabe n'a pas été retirée.
+     */
+    protected boolean estActive(int u) {
+        return actives[u];
+    }
+
+
+    /**
+     * Donne la clé qui départage deux paires à la même distance : la paire ayant la plus petite clé est choisie.
+     *
+     * @param a le numéro d'une des syllabes de la paire.
+     * @param b le numéro de l'autre syllabe de la paire.
+     * @return la clé formée du plus petit rang suivi du plus grand rang.
+     */
+    protected long cle(int a, int b) {
+        return (long) Math.min(rangs[a], rangs[b]) << Integer.SIZE | Math.max(rangs[a], rangs[b]);
+    }
+
+
+    /**
+     * Propose {@code v} comme plus proche voisin de {@code u}.  Il est retenu s'il est plus proche que le voisin
+     * courant ou, à distance égale, si la paire qu'il forme avec {@code u} a une plus petite clé.
+     *
+     * @param u        la syllabe dont le voisin est mis à jour.
+     * @param v        le voisin proposé.
+     * @param distance la distance entre {@code u} et {@code v}.
+     */
+    protected void proposer(int u, int v, int distance) {
+        int x = plusProche[u];
+
+        if (u != v && (x < 0 || distance < distanceAuPlusProche[u]
+                || (distance == distanceAuPlusProche[u] && cle(u, v) < cle(u, x)))) {
+            plusProche[u] = v;
+            distanceAuPlusProche[u] = distance;
+        }
+    }
+
+
+    /**
+     * Donne la distance entre une syllabe et son plus proche voisin.
+     *
+     * @param u le numéro de la syllabe.
+     * @return la distance au plus proche voisin, ou {@code Integer.MAX_VALUE} s'il n'y en a pas.
+     */
+    protected int distanceAuPlusProche(int u) {
+        return plusProche[u] < 0 ? Integer.MAX_VALUE : distanceAuPlusProche[u];
+    }
+
+
+    /**
+     * Recalcule le plus proche voisin d'une syllabe.
+     *
+     * @param u le numéro de la syllabe.
+     */
+    private void recalculerPlusProche(int u) {
+        plusProche[u] = -1;
+        chercherPlusProche(u);
+    }
+
+
+    /**
+     * Propose à une syllabe, avec {@code proposer}, au moins son plus proche voisin parmi les syllabes actives.
+     * <p>
+     * Par défaut, toutes les syllabes actives sont proposées.
+     *
+     * @param u le numéro de la syllabe.
+     */
+    protected void chercherPlusProche(int u) {
+        for (int v = 0; v < syllabes.size(); v++) {
+            if (actives[v]) {
+                proposer(u, v, distance(u, v));
+            }
+        }
+    }
+
+
+    /**
+     * Propose la syllabe gardée comme voisin des syllabes actives, après que son rang a diminué.
+     * <p>
+     * Par défaut, elle est proposée à toutes les syllabes actives.
+     *
+     * @param gardee le numéro de la syllabe gardée.
+     */
+    protected void rapprocher(int gardee) {
+        for (int u = 0; u < syllabes.size(); u++) {
+            if (actives[u]) {
+                proposer(u, gardee, distance(u, gardee));
+            }
+        }
+    }
+}
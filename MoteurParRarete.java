@@ -0,0 +1,28 @@
+/**
+ * Un moteur de sélection approximatif : remplace à chaque choix la syllabe la moins fréquente par la syllabe qui
+ * lui est la plus similaire.
+ * <p>
+ * Chaque choix demande un seul parcours des syllabes plutôt que la comparaison de toutes les paires, au prix d'un
+ * plan différent de celui des moteurs exacts.  Il sert lorsque le temps manque pour terminer une réduction exacte.
+ *
+ * @see ColonnesDeSyllabes#choisirSyllabeRareARemplacer()
+ * @see PlanDeReduction#planifieAvant(CompteurDeSyllabes, int, MoteurDeSelection, long)
+ */
+public class MoteurParRarete implements MoteurDeSelection {
+    private ColonnesDeSyllabes colonnes = null;
+
+
+    @Override
+    public PaireDeSyllabes choisirSyllabesARemplacer(CompteurDeSyllabes compteur) {
+        if (colonnes == null) {
+            colonnes = new ColonnesDeSyllabes(compteur);
+        }
+        return colonnes.choisirSyllabeRareARemplacer();
+    }
+
+
+    @Override
+    public void fusionne(PaireDeSyllabes paire) {
+        colonnes.fusionne(paire);
+    }
+}
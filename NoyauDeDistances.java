@@ -0,0 +1,102 @@
+/**
+ * Calcule les distances entre syllabes à partir de leurs signatures, une syllabe contre plusieurs autres à la fois.
+ * <p>
+ * Deux signatures sont comparées par un OU exclusif suivi d'un compte de bits, sur les traits des groupes présents
+ * dans les deux syllabes, auquel s'ajoutent les pénalités des groupes, consonnes secondaires et semi-voyelles
+ * présents dans une seule des deux.  Le calcul ne contient aucun branchement.
+ *
+ * @see SyllabeFrancais#signature()
+ * @see SyllabeFrancais#distanceA(SyllabeFrancais)
+ */
+public class NoyauDeDistances {
+    /**
+     * La position des signatures de l'attaque, du noyau et du coda dans la signature d'une syllabe.
+     */
+    private static final int POSITION_ATTAQUE = 0;
+    private static final int POSITION_NOYAU = ConsonneFrancais.BITS_SIGNATURE;
+    private static final int POSITION_CODA = ConsonneFrancais.BITS_SIGNATURE + VoyelleFrancais.BITS_SIGNATURE;
+
+    /**
+     * La position de la consonne secondaire dans la signature d'un groupe de consonnes, et de la semi-voyelle dans
+     * celle d'un groupe de voyelles.
+     */
+    private static final int POSITION_CONSONNE2 = API_Consonne.NOMBRE_DE_TRAITS + 1;
+    private static final int POSITION_SEMI_VOYELLE = API_Voyelle.NOMBRE_DE_TRAITS;
+
+    /**
+     * Les traits d'une consonne de base, d'une consonne secondaire, et ceux du noyau toujours comparés : la voyelle
+     * de base et sa nasalité.
+     */
+    private static final long TRAITS_CONSONNE1 = ((1L << API_Consonne.NOMBRE_DE_TRAITS) - 1) << 1;
+    private static final long TRAITS_CONSONNE2 = TRAITS_CONSONNE1 << POSITION_CONSONNE2;
+    private static final long TRAITS_NOYAU = ((1L << API_Voyelle.NOMBRE_DE_TRAITS) - 1
+            | 1L << (2 * API_Voyelle.NOMBRE_DE_TRAITS + 1)) << POSITION_NOYAU;
+    private static final long TRAITS_SEMI_VOYELLE = ((1L << API_Voyelle.NOMBRE_DE_TRAITS) - 1)
+            << (POSITION_NOYAU + POSITION_SEMI_VOYELLE + 1);
+
+    /**
+     * Les pénalités de {@code SyllabeFrancais.distanceA} pour un élément présent dans une seule des deux syllabes.
+     * Celle de la semi-voyelle est doublée, comme toute la distance entre les noyaux.
+     */
+    private static final int PENALITE_GROUPE = 12;
+    private static final int PENALITE_CONSONNE2 = 6;
+    private static final int PENALITE_SEMI_VOYELLE = 2 * 4;
+
+
+    /**
+     * Donne la distance entre deux syllabes à partir de leurs signatures.
+     *
+     * @param signature1 la signature de la première syllabe.
+     * @param signature2 la signature de la seconde syllabe.
+     * @return la même valeur que {@code SyllabeFrancais.distanceA} entre les deux syllabes.
+     */
+    public static int distance(long signature1, long signature2) {
+        long differences = signature1 ^ signature2;
+        long communs = signature1 & signature2;
+        long traitsConsonnes = bit(communs, POSITION_ATTAQUE) * (TRAITS_CONSONNE1 << POSITION_ATTAQUE)
+                + bit(communs, POSITION_ATTAQUE + POSITION_CONSONNE2) * (TRAITS_CONSONNE2 << POSITION_ATTAQUE)
+                + bit(communs, POSITION_CODA) * (TRAITS_CONSONNE1 << POSITION_CODA)
+                + bit(communs, POSITION_CODA + POSITION_CONSONNE2) * (TRAITS_CONSONNE2 << POSITION_CODA);
+        long traitsNoyau = TRAITS_NOYAU
+                + bit(communs, POSITION_NOYAU + POSITION_SEMI_VOYELLE) * TRAITS_SEMI_VOYELLE;
+        long penalites = PENALITE_GROUPE * (bit(differences, POSITION_ATTAQUE) + bit(differences, POSITION_CODA))
+                + PENALITE_CONSONNE2
+                * (bit(communs & differences >>> POSITION_CONSONNE2, POSITION_ATTAQUE)
+                + bit(communs & differences >>> POSITION_CONSONNE2, POSITION_CODA))
+                + PENALITE_SEMI_VOYELLE * bit(differences, POSITION_NOYAU + POSITION_SEMI_VOYELLE);
+
+        return Long.bitCount(differences & traitsConsonnes) + 2 * Long.bitCount(differences & traitsNoyau)
+                + (int) penalites;
+    }
+
+
+    /**
+     * Donne un bit d'une valeur.
+     *
+     * @param valeur   la valeur.
+     * @param position la position du bit.
+     * @return {@code 1} si le bit est à un, {@code 0} sinon.
+     */
+    private static long bit(long valeur, int position) {
+        return valeur >>> position & 1;
+    }
+
+
+    /**
+     * Calcule la distance entre une syllabe et une plage de syllabes.
+     *
+     * @param signatures les signatures des syllabes.
+     * @param source     la position de la syllabe comparée aux autres.
+     * @param debut      la position de la première syllabe de la plage.
+     * @param fin        la position qui suit la dernière syllabe de la plage.
+     * @param resultat   reçoit, à la position de chaque syllabe de la plage, sa distance à la syllabe
+     *                   {@code source}.
+     */
+    public static void distances(long[] signatures, int source, int debut, int fin, int[] resultat) {
+        long signature = signatures[source];
+
+        for (int j = debut; j < fin; j++) {
+            resultat[j] = distance(signature, signatures[j]);
+        }
+    }
+}
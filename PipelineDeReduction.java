@@ -0,0 +1,261 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+
+/**
+ * Réduit un lot de fichiers à l'aide d'une chaîne d'étapes qui se chevauchent.
+ * <p>
+ * Chaque étape (lecture, comptage, planification, réécriture et écriture) s'exécute sur son propre fil, sauf la
+ * planification, qui occupe un fil par processeur.  Les étapes sont reliées par des files bornées : une étape trop
+ * rapide attend que la suivante libère de la place.  Ainsi, la lecture du prochain fichier, la réduction des
+ * fichiers courants et l'écriture du fichier précédent se font en même temps.
+ * <p>
+ * Une étape transmet toujours {@code FIN} à la suivante, même lorsqu'elle se termine sur une erreur, afin que les
+ * étapes suivantes se terminent elles aussi.
+ *
+ * @see TraitementParLot
+ * @see PlanDeReduction
+ */
+public class PipelineDeReduction {
+    /**
+     * Le travail qui circule d'une étape à l'autre.
+     */
+    private static class Travail {
+        private final Path fichier;
+        private TexteSonore texteSonore = null;
+        private CompteurDeSyllabes compteur = null;
+        private PlanDeReduction plan = null;
+        private Exception erreur = null;
+
+        private Travail(Path fichier) {
+            this.fichier = fichier;
+        }
+    }
+
+    /**
+     * Le travail qui indique aux étapes qu'il n'y a plus de fichiers à traiter.
+     */
+    private static final Travail FIN = new Travail(null);
+
+    private final int nombreDeSyllabes;
+    private final int capacite;
+    private final boolean compact;
+
+
+    /**
+     * Construit une chaîne de réduction qui écrit ses résultats sous forme textuelle.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir dans chaque fichier.
+     * @param capacite         le nombre de travaux pouvant attendre entre deux étapes.
+     */
+    public PipelineDeReduction(int nombreDeSyllabes, int capacite) {
+        this(nombreDeSyllabes, capacite, false);
+    }
+
+    /**
+     * Construit une chaîne de réduction.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir dans chaque fichier.
+     * @param capacite         le nombre de travaux pouvant attendre entre deux étapes.
+     * @param compact          {@code true} pour écrire les résultats dans le {@code FormatCompact}.
+     */
+    public PipelineDeReduction(int nombreDeSyllabes, int capacite, boolean compact) {
+        this.nombreDeSyllabes = nombreDeSyllabes;
+        this.capacite = capacite;
+        this.compact = compact;
+    }
+
+
+    /**
+     * Réduit tous les fichiers du lot.  Le résultat de chaque fichier est écrit par
+     * {@code TraitementParLot.ecrireResultat}.
+     * <p>
+     * Une erreur sur un fichier est affichée et n'interrompt pas le traitement des autres fichiers.
+     *
+     * @param fichiers les fichiers à réduire.
+     * @return le nombre de fichiers réduits avec succès.
+     */
+    public int traiter(List<Path> fichiers) {
+        BlockingQueue<Travail> aCompter = new ArrayBlockingQueue<>(capacite);
+        BlockingQueue<Travail> aPlanifier = new ArrayBlockingQueue<>(capacite);
+        BlockingQueue<Travail> aReecrire = new ArrayBlockingQueue<>(capacite);
+        BlockingQueue<Travail> aEcrire = new ArrayBlockingQueue<>(capacite);
+        int[] reussis = {0};
+
+        int planificateurs = Runtime.getRuntime().availableProcessors();
+        AtomicInteger planificateursActifs = new AtomicInteger(planificateurs);
+
+        List<Thread> etapes = new ArrayList<>();
+        etapes.add(new Thread(() -> lire(fichiers, aCompter), "lecture"));
+        etapes.add(new Thread(() -> relayer(aCompter, aPlanifier, this::compter, new AtomicInteger(1)), "comptage"));
+        for (int i = 0; i < planificateurs; i++) {
+            etapes.add(new Thread(() -> relayer(aPlanifier, aReecrire, this::planifier, planificateursActifs),
+                    "planification-" + i));
+        }
+        etapes.add(new Thread(() -> relayer(aReecrire, aEcrire, this::reecrire, new AtomicInteger(1)), "reecriture"));
+        etapes.add(new Thread(() -> relayer(aEcrire, null, travail -> {
+            ecrire(travail);
+            if (travail.erreur == null) {
+                reussis[0]++;
+            }
+        }, new AtomicInteger(1)), "ecriture"));
+
+        etapes.forEach(Thread::start);
+        try {
+            for (Thread etape : etapes) {
+                etape.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            etapes.forEach(Thread::interrupt);
+        }
+
+        return reussis[0];
+    }
+
+
+    /**
+     * Première étape : lit chaque fichier et transmet son {@code TexteSonore}.
+     *
+     * @param fichiers les fichiers à lire.
+     * @param sortie   la file de l'étape suivante.
+     */
+    private void lire(List<Path> fichiers, BlockingQueue<Travail> sortie) {
+        try {
+            for (Path fichier : fichiers) {
+                Travail travail = new Travail(fichier);
+
+                try {
+                    travail.texteSonore = FormatBinaire.charger(fichier);
+                } catch (IOException | RuntimeException e) {
+                    travail.erreur = e;
+                }
+                sortie.put(travail);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            terminer(sortie);
+        }
+    }
+
+
+    /**
+     * Traite les travaux d'une file et les transmet à l'étape suivante jusqu'à la réception de {@code FIN}.
+     * <p>
+     * Un travail en erreur est transmis sans être traité.  Plusieurs fils peuvent partager la même étape : chacun
+     * remet {@code FIN} dans la file de l'étape pour les autres, et le dernier fil actif le transmet à l'étape
+     * suivante.  Si ce dernier fil s'arrête sur une erreur, il vide d'abord la file de l'étape pour ne pas bloquer
+     * l'étape précédente.
+     *
+     * @param entree     la file de l'étape.
+     * @param sortie     la file de l'étape suivante, ou {@code null} pour la dernière étape.
+     * @param traitement le traitement de l'étape.
+     * @param actifs     le nombre de fils de l'étape encore actifs, partagé par ces fils.
+     */
+    private void relayer(BlockingQueue<Travail> entree, BlockingQueue<Travail> sortie, Consumer<Travail> traitement,
+                         AtomicInteger actifs) {
+        boolean finRecue = false;
+
+        try {
+            Travail travail = entree.take();
+
+            while (travail != FIN) {
+                if (travail.erreur == null || sortie == null) {
+                    try {
+                        traitement.accept(travail);
+                    } catch (RuntimeException e) {
+                        travail.erreur = e;
+                    }
+                }
+                if (sortie != null) {
+                    sortie.put(travail);
+                }
+                travail = entree.take();
+            }
+            finRecue = true;
+            entree.put(FIN);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (actifs.decrementAndGet() == 0) {
+                if (!finRecue) {
+                    vider(entree);
+                }
+                terminer(sortie);
+            }
+        }
+    }
+
+
+    /**
+     * Retire et abandonne les travaux d'une file jusqu'à la réception de {@code FIN}.
+     *
+     * @param entree la file à vider.
+     */
+    private static void vider(BlockingQueue<Travail> entree) {
+        try {
+            Travail travail = entree.take();
+
+            while (travail != FIN) {
+                travail = entree.take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+
+    /**
+     * Transmet {@code FIN} à l'étape suivante.
+     *
+     * @param sortie la file de l'étape suivante, ou {@code null} pour la dernière étape.
+     */
+    private static void terminer(BlockingQueue<Travail> sortie) {
+        if (sortie != null) {
+            try {
+                sortie.put(FIN);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+
+    private void compter(Travail travail) {
+        travail.compteur = new CompteurDeSyllabes(travail.texteSonore);
+    }
+
+    private void planifier(Travail travail) {
+        travail.plan = new PlanDeReduction(travail.compteur, nombreDeSyllabes);
+    }
+
+    private void reecrire(Travail travail) {
+        travail.texteSonore.applique(travail.plan);
+    }
+
+
+    /**
+     * Dernière étape : écrit le résultat du travail, ou affiche son erreur.
+     *
+     * @param travail le travail terminé.
+     */
+    private void ecrire(Travail travail) {
+        if (travail.erreur == null) {
+            try {
+                TraitementParLot.ecrireResultat(travail.fichier, travail.texteSonore.toString(), compact);
+            } catch (IOException e) {
+                travail.erreur = e;
+            }
+        }
+        if (travail.erreur != null) {
+            Erreur.LECTURE_ECRITURE.afficher("\"" + travail.fichier + "\" " + travail.erreur);
+        }
+    }
+}
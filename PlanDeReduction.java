@@ -0,0 +1,334 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Une classe pour contenir la suite des remplacements qui réduit un {@code TexteSonore}.
+ * <p>
+ * Le plan est calculé à partir du {@code CompteurDeSyllabes} seulement : chaque remplacement est appliqué au
+ * compteur plutôt qu'au texte, puis le texte est réécrit une seule fois à l'aide des {@code correspondances}.
+ * Le résultat est identique à celui obtenu en réécrivant et en recomptant le texte après chaque remplacement.
+ * <p>
+ * Pendant la planification, le {@code MoteurDeSelection} suit lui-même les fusions : les remplacements sont
+ * appliqués au compteur en une seule fois avec {@code CompteurDeSyllabes.fusionneTous}, à la fin du plan ou
+ * lorsque le compteur doit être consulté.
+ *
+ * @see CompteurDeSyllabes
+ * @see PaireDeSyllabes
+ * @see TexteSonore
+ */
+public class PlanDeReduction extends ArrayList<PaireDeSyllabes> {
+    /**
+     * La version de la forme sérialisée.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Construit un plan vide.
+     */
+    public PlanDeReduction() {
+    }
+
+    /**
+     * Construit le plan qui réduit le {@code compteur} au {@code nombreDeSyllabes} demandé.
+     *
+     * @param compteur         le compteur du texte à réduire.  Il est modifié et contient, à la fin, le compte des
+     *                         syllabes du texte réduit.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     */
+    public PlanDeReduction(CompteurDeSyllabes compteur, int nombreDeSyllabes) {
+        planifie(compteur, nombreDeSyllabes);
+    }
+
+    /**
+     * Construit le plan qui réduit le {@code compteur} au {@code nombreDeSyllabes} demandé, en choisissant les
+     * paires avec le {@code moteur} fourni.
+     *
+     * @param compteur         le compteur du texte à réduire.  Il est modifié et contient, à la fin, le compte des
+     *                         syllabes du texte réduit.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @param moteur           le moteur de sélection, utilisé pour ce plan seulement.
+     */
+    public PlanDeReduction(CompteurDeSyllabes compteur, int nombreDeSyllabes, MoteurDeSelection moteur) {
+        planifie(compteur, nombreDeSyllabes, moteur);
+    }
+
+
+    /**
+     * Ajoute au plan les remplacements nécessaires pour réduire le {@code compteur} au {@code nombreDeSyllabes}
+     * demandé, en choisissant les paires avec un {@code MoteurAdaptatif}.
+     *
+     * @param compteur         le compteur à réduire.  Chaque remplacement choisi y est appliqué.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     */
+    public void planifie(CompteurDeSyllabes compteur, int nombreDeSyllabes) {
+        planifie(compteur, nombreDeSyllabes, new MoteurAdaptatif(nombreDeSyllabes));
+    }
+
+
+    /**
+     * Ajoute au plan les remplacements nécessaires pour réduire le {@code compteur} au {@code nombreDeSyllabes}
+     * demandé, en choisissant les paires avec le {@code moteur} fourni.
+     *
+     * @param compteur         le compteur à réduire.  Chaque remplacement choisi y est appliqué.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @param moteur           le moteur de sélection.  Il est averti de chaque remplacement appliqué.
+     * @see MoteurDeSelection
+     */
+    public void planifie(CompteurDeSyllabes compteur, int nombreDeSyllabes, MoteurDeSelection moteur) {
+        planifie(compteur, nombreDeSyllabes, moteur, null);
+    }
+
+
+    /**
+     * Ajoute au plan les remplacements nécessaires pour réduire le {@code compteur} au {@code nombreDeSyllabes}
+     * demandé, en sauvegardant régulièrement l'état de la réduction.
+     * <p>
+     * Le plan peut déjà contenir les remplacements repris d'une réduction interrompue, le {@code compteur} étant
+     * alors celui qui en résulte.
+     *
+     * @param compteur         le compteur à réduire.  Chaque remplacement choisi y est appliqué.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @param moteur           le moteur de sélection.  Il est averti de chaque remplacement appliqué.
+     * @param pointDeReprise   le point de reprise averti de chaque remplacement, ou {@code null}.
+     * @throws IllegalArgumentException si le moteur ne peut pas produire ce plan (voir {@code verifierMoteur}).
+     * @see PointDeReprise
+     */
+    public void planifie(CompteurDeSyllabes compteur, int nombreDeSyllabes, MoteurDeSelection moteur,
+                         PointDeReprise pointDeReprise) {
+        verifierMoteur(moteur, nombreDeSyllabes, pointDeReprise);
+
+        ArrayList<PaireDeSyllabes> enAttente = new ArrayList<>();
+        int taille;
+
+        fusionneSignaturesIdentiques(compteur, nombreDeSyllabes);
+        taille = compteur.size();
+
+        while (taille > nombreDeSyllabes) {
+            PaireDeSyllabes paire = moteur.choisirSyllabesARemplacer(compteur);
+
+            moteur.fusionne(paire);
+            add(paire);
+            enAttente.add(paire);
+            taille--;
+            if (pointDeReprise != null && pointDeReprise.sauvegardeDue()) {
+                appliquer(compteur, enAttente);
+                pointDeReprise.sauvegarder(this, compteur);
+            }
+        }
+        appliquer(compteur, enAttente);
+    }
+
+
+    /**
+     * Ajoute au plan les remplacements nécessaires pour réduire le {@code compteur} au {@code nombreDeSyllabes}
+     * demandé, en s'arrêtant à l'{@code echeance} si la réduction n'est pas terminée.
+     * <p>
+     * Avant le premier choix, l'échéance est vérifiée et le coût d'un premier choix exact est estimé à partir du
+     * nombre de paires de syllabes et de {@code Constantes.NANOSECONDES_PAR_PAIRE}.  S'il ne tient pas dans le
+     * temps restant, le {@code moteur} n'est pas utilisé du tout.  Ensuite, après chaque remplacement, le temps
+     * restant est estimé à partir du temps moyen des remplacements déjà faits.  Si cette estimation dépasse
+     * l'échéance, les paires suivantes sont choisies par un {@code MoteurParRarete}, moins coûteux mais
+     * approximatif.  Le plan et le compteur restent cohérents à chaque étape : un plan interrompu réduit le texte
+     * au nombre de syllabes laissé dans le compteur.
+     * <p>
+     * Le {@code moteur} doit être peu coûteux à préparer, comme le {@code MoteurParBalayage} : un moteur qui
+     * mesure la machine ou qui calcule toutes les distances au premier choix peut dépasser l'échéance à lui seul.
+     * La fusion des signatures identiques, en temps linéaire, n'est pas interrompue.
+     *
+     * @param compteur         le compteur à réduire.  Chaque remplacement choisi y est appliqué.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @param moteur           le moteur de sélection utilisé tant que l'échéance semble pouvoir être tenue.
+     * @param echeance         l'échéance, dans l'échelle de {@code System.nanoTime}.
+     * @return {@code true} si le {@code nombreDeSyllabes} demandé a été atteint avant l'échéance.
+     * @throws IllegalArgumentException si le moteur ne peut pas produire ce plan (voir {@code verifierMoteur}).
+     * @see MoteurParRarete
+     */
+    public boolean planifieAvant(CompteurDeSyllabes compteur, int nombreDeSyllabes, MoteurDeSelection moteur,
+                                 long echeance) {
+        ArrayList<PaireDeSyllabes> enAttente = new ArrayList<>();
+        boolean approximatif = false;
+        int fusions = 0;
+        int taille;
+        long debut;
+        long maintenant;
+
+        verifierMoteur(moteur, nombreDeSyllabes, null);
+        fusionneSignaturesIdentiques(compteur, nombreDeSyllabes);
+        taille = compteur.size();
+        debut = System.nanoTime();
+        maintenant = debut;
+
+        if ((long) taille * (taille - 1) / 2 * Constantes.NANOSECONDES_PAR_PAIRE > echeance - maintenant) {
+            moteur = new MoteurParRarete();
+            approximatif = true;
+        }
+
+        while (taille > nombreDeSyllabes && maintenant - echeance < 0) {
+            PaireDeSyllabes paire = moteur.choisirSyllabesARemplacer(compteur);
+
+            moteur.fusionne(paire);
+            add(paire);
+            enAttente.add(paire);
+            taille--;
+            fusions++;
+
+            maintenant = System.nanoTime();
+            if (!approximatif && (maintenant - debut) / fusions * (taille - nombreDeSyllabes) > echeance - maintenant) {
+                appliquer(compteur, enAttente);
+                moteur = new MoteurParRarete();
+                approximatif = true;
+            }
+        }
+        appliquer(compteur, enAttente);
+
+        return taille <= nombreDeSyllabes;
+    }
+
+
+    /**
+     * Vérifie qu'un moteur peut produire le plan demandé.
+     * <p>
+     * Un {@code MoteurParMedoides} rend exactement une paire par syllabe qui n'est pas le représentant de son
+     * groupe : son nombre de groupes doit être le nombre de syllabes demandé.  Il regroupe tout le compteur au
+     * premier choix, et ne peut donc pas reprendre une réduction interrompue.
+     *
+     * @param moteur           le moteur de sélection.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @param pointDeReprise   le point de reprise de la réduction, ou {@code null}.
+     * @throws IllegalArgumentException si le moteur ne peut pas produire ce plan.
+     */
+    private static void verifierMoteur(MoteurDeSelection moteur, int nombreDeSyllabes,
+                                       PointDeReprise pointDeReprise) {
+        if (moteur instanceof MoteurParMedoides) {
+            MoteurParMedoides medoides = (MoteurParMedoides) moteur;
+
+            if (medoides.getNombreDeGroupes() != nombreDeSyllabes) {
+                throw new IllegalArgumentException("le nombre de groupes (" + medoides.getNombreDeGroupes()
+                        + ") differe du nombre de syllabes demande (" + nombreDeSyllabes + ")");
+            }
+            if (pointDeReprise != null) {
+                throw new IllegalArgumentException("une reduction par medoides ne peut pas etre reprise");
+            }
+        }
+    }
+
+
+    /**
+     * Applique au compteur les remplacements en attente, puis vide la liste d'attente.
+     *
+     * @param compteur  le compteur à mettre à jour.
+     * @param enAttente les remplacements choisis depuis la dernière mise à jour du compteur.
+     */
+    private static void appliquer(CompteurDeSyllabes compteur, List<PaireDeSyllabes> enAttente) {
+        if (!enAttente.isEmpty()) {
+            compteur.fusionneTous(enAttente);
+            enAttente.clear();
+        }
+    }
+
+
+    /**
+     * Fusionne d'un seul coup les syllabes qui ont la même signature, donc une distance nulle entre elles.
+     * <p>
+     * Tant qu'il reste des paires à distance nulle, {@code choisirSyllabesARemplacer} les choisit avant toutes les
+     * autres : les groupes de même signature sont traités dans l'ordre de leur premier membre, et chaque groupe
+     * est fusionné membre après membre, selon la règle de fréquence habituelle.  Cette méthode reproduit ces
+     * remplacements sans recherche de paires, en temps linéaire, et s'arrête au {@code nombreDeSyllabes} demandé.
+     *
+     * @param compteur         le compteur à réduire.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @see SyllabeFrancais#signature()
+     */
+    private void fusionneSignaturesIdentiques(CompteurDeSyllabes compteur, int nombreDeSyllabes) {
+        LinkedHashMap<Long, List<SyllabeFrancais>> groupes = new LinkedHashMap<>();
+        HashMap<SyllabeFrancais, Integer> comptes = new HashMap<>(compteur);
+        ArrayList<PaireDeSyllabes> paires = new ArrayList<>();
+        int taille = compteur.size();
+
+        for (SyllabeFrancais syllabe : compteur.keySet()) {
+            groupes.computeIfAbsent(syllabe.signature(), signature -> new ArrayList<>()).add(syllabe);
+        }
+
+        for (List<SyllabeFrancais> groupe : groupes.values()) {
+            SyllabeFrancais courante = groupe.get(0);
+
+            for (int i = 1; i < groupe.size() && taille > nombreDeSyllabes; i++) {
+                SyllabeFrancais candidate = groupe.get(i);
+                PaireDeSyllabes paire;
+
+                if (comptes.get(courante) < comptes.get(candidate)) {
+                    paire = new PaireDeSyllabes(courante, candidate);
+                } else {
+                    paire = new PaireDeSyllabes(candidate, courante);
+                }
+                courante = paire.getNouvelleValeur();
+                comptes.put(courante, comptes.get(paire.getSyllabeARemplacer()) + comptes.get(courante));
+                paires.add(paire);
+                taille--;
+            }
+        }
+
+        if (!paires.isEmpty()) {
+            compteur.fusionneTous(paires);
+            addAll(paires);
+        }
+    }
+
+
+    /**
+     * Compose les remplacements du plan.
+     * <p>
+     * Une syllabe remplacée par une syllabe qui est elle-même remplacée plus tard est associée directement à la
+     * syllabe finale.
+     *
+     * @return l'association entre chaque syllabe remplacée et la syllabe qui la remplace dans le texte réduit.
+     */
+    public HashMap<SyllabeFrancais, SyllabeFrancais> correspondances() {
+        return composer(this);
+    }
+
+
+    /**
+     * Mesure la distorsion du plan : l'écart entre le texte d'origine et le texte réduit.
+     *
+     * @param compteurDOrigine le compteur du texte d'origine, avant la réduction.
+     * @return la somme, sur les syllabes remplacées, de leur compte dans le texte d'origine multiplié par leur
+     * distance à la syllabe qui les remplace dans le texte réduit.
+     * @see SyllabeFrancais#distanceA(SyllabeFrancais)
+     */
+    public long distorsion(CompteurDeSyllabes compteurDOrigine) {
+        HashMap<SyllabeFrancais, SyllabeFrancais> correspondances = correspondances();
+        long resultat = 0;
+
+        for (Map.Entry<SyllabeFrancais, SyllabeFrancais> correspondance : correspondances.entrySet()) {
+            resultat += (long) compteurDOrigine.getOrDefault(correspondance.getKey(), 0)
+                    * correspondance.getKey().distanceA(correspondance.getValue());
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Compose une suite de remplacements.
+     *
+     * @param paires les remplacements, dans l'ordre où ils ont été choisis.  Une syllabe remplacée ne doit plus
+     *               apparaître dans les remplacements suivants.
+     * @return l'association entre chaque syllabe remplacée et la syllabe qui la remplace à la fin de la suite.
+     */
+    public static HashMap<SyllabeFrancais, SyllabeFrancais> composer(List<PaireDeSyllabes> paires) {
+        HashMap<SyllabeFrancais, SyllabeFrancais> resultat = new HashMap<>();
+
+        for (int i = paires.size() - 1; i >= 0; i--) {
+            SyllabeFrancais nouvelleValeur = paires.get(i).getNouvelleValeur();
+
+            resultat.put(paires.get(i).getSyllabeARemplacer(), resultat.getOrDefault(nouvelleValeur, nouvelleValeur));
+        }
+
+        return resultat;
+    }
+}
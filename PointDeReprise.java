@@ -0,0 +1,246 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Sauvegarde régulièrement l'état d'une réduction, pour pouvoir la reprendre après une interruption.
+ * <p>
+ * Le fichier de reprise contient l'empreinte du texte d'origine, le nombre de syllabes demandé, les remplacements
+ * déjà planifiés et le {@code CompteurDeSyllabes} qui en résulte.  Les syllabes y sont rangées comme dans le
+ * dictionnaire du {@code FormatBinaire}.
+ * <p>
+ * La boucle de planification ne fait que copier son état lorsqu'une sauvegarde est due : l'écriture se fait sur un
+ * fil séparé, dans un fichier temporaire qui remplace ensuite le fichier de reprise.  Une sauvegarde n'est pas
+ * commencée tant que la précédente n'est pas terminée.
+ *
+ * @see PlanDeReduction#planifie(CompteurDeSyllabes, int, MoteurDeSelection, PointDeReprise)
+ * @see TexteSonore#reduitA(int, MoteurDeSelection, PointDeReprise)
+ */
+public class PointDeReprise {
+    /**
+     * Les quatre premiers octets d'un fichier de reprise : {@code RSYP}.
+     */
+    private static final int SIGNATURE = 0x52535950;
+
+    /**
+     * La version du format.
+     */
+    private static final int VERSION = 1;
+
+    private final Path fichier;
+    private final long intervalle;
+    private final ExecutorService ecrivain;
+    private byte[] empreinte = null;
+    private int nombreDeSyllabes = 0;
+
+    private final ArrayList<Long> pairesEncodees = new ArrayList<>();
+    private long derniereSauvegarde = 0;
+    private Future<?> sauvegarde = null;
+
+
+    /**
+     * Construit un point de reprise.
+     *
+     * @param fichier    le fichier de reprise.
+     * @param intervalle le temps minimal entre deux sauvegardes, en millisecondes.
+     */
+    public PointDeReprise(Path fichier, long intervalle) {
+        this.fichier = fichier;
+        this.intervalle = intervalle;
+        this.ecrivain = Executors.newSingleThreadExecutor(tache -> {
+            Thread fil = new Thread(tache, "point-de-reprise");
+
+            fil.setDaemon(true);
+            return fil;
+        });
+    }
+
+
+    /**
+     * Commence la réduction d'un texte, en reprenant l'état sauvegardé s'il correspond à ce texte et à ce nombre de
+     * syllabes.
+     *
+     * @param empreinte        l'empreinte du texte d'origine.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @param plan             le plan, vide, qui reçoit les remplacements déjà planifiés.
+     * @param compteur         le compteur du texte d'origine, remplacé par le compteur sauvegardé.
+     * @return {@code true} si la réduction reprend là où elle avait été interrompue.
+     */
+    public boolean reprendre(byte[] empreinte, int nombreDeSyllabes, PlanDeReduction plan,
+                             CompteurDeSyllabes compteur) {
+        boolean resultat = false;
+
+        this.empreinte = empreinte;
+        this.nombreDeSyllabes = nombreDeSyllabes;
+        this.derniereSauvegarde = System.currentTimeMillis();
+
+        if (Files.isRegularFile(fichier)) {
+            try (DataInputStream entree = new DataInputStream(new BufferedInputStream(Files.newInputStream(fichier)))) {
+                resultat = lire(entree, plan, compteur);
+            } catch (IOException | RuntimeException e) {
+                resultat = false;
+            }
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Lit l'état sauvegardé, s'il correspond à la réduction commencée.
+     * <p>
+     * Le fichier est lu en entier avant que le plan, le compteur et les remplacements déjà encodés ne soient
+     * modifiés : un fichier tronqué ou corrompu ne laisse aucune trace de sa lecture.
+     *
+     * @param entree   le contenu du fichier de reprise.
+     * @param plan     le plan qui reçoit les remplacements sauvegardés.
+     * @param compteur le compteur remplacé par le compteur sauvegardé.
+     * @return {@code true} si l'état a été repris.
+     * @throws IOException si le fichier ne peut pas être lu.
+     * @throws IllegalArgumentException si une syllabe sauvegardée ne peut pas être décodée.
+     */
+    private boolean lire(DataInputStream entree, PlanDeReduction plan, CompteurDeSyllabes compteur)
+            throws IOException {
+        boolean resultat = false;
+
+        if (entree.readInt() == SIGNATURE && entree.readInt() == VERSION && entree.readInt() == empreinte.length) {
+            byte[] empreinteSauvegardee = new byte[empreinte.length];
+
+            entree.readFully(empreinteSauvegardee);
+            if (Arrays.equals(empreinte, empreinteSauvegardee) && entree.readInt() == nombreDeSyllabes) {
+                int nombreDePaires = entree.readInt();
+                int taille;
+                ArrayList<PaireDeSyllabes> paires = new ArrayList<>();
+                ArrayList<Long> encodees = new ArrayList<>();
+                CompteurDeSyllabes compteurSauvegarde = new CompteurDeSyllabes();
+
+                for (int i = 0; i < nombreDePaires; i++) {
+                    long syllabeARemplacer = entree.readLong();
+                    long nouvelleValeur = entree.readLong();
+
+                    paires.add(new PaireDeSyllabes(FormatBinaire.decoder(syllabeARemplacer),
+                            FormatBinaire.decoder(nouvelleValeur)));
+                    encodees.add(syllabeARemplacer);
+                    encodees.add(nouvelleValeur);
+                }
+                taille = entree.readInt();
+                for (int i = 0; i < taille; i++) {
+                    compteurSauvegarde.put(FormatBinaire.decoder(entree.readLong()), entree.readInt());
+                }
+
+                if (nombreDePaires >= 0 && taille > 0) {
+                    pairesEncodees.addAll(encodees);
+                    plan.addAll(paires);
+                    compteur.clear();
+                    compteur.putAll(compteurSauvegarde);
+                    resultat = true;
+                }
+            }
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Indique si une sauvegarde est due : l'intervalle est écoulé depuis la précédente, et celle-ci est terminée.
+     *
+     * @return {@code true} si {@code sauvegarder} doit être appelée.
+     */
+    public boolean sauvegardeDue() {
+        return System.currentTimeMillis() - derniereSauvegarde >= intervalle
+                && (sauvegarde == null || sauvegarde.isDone());
+    }
+
+
+    /**
+     * Copie l'état de la réduction et lance son écriture.
+     *
+     * @param plan     le plan en cours.
+     * @param compteur le compteur, auquel tous les remplacements du plan ont été appliqués.
+     */
+    public void sauvegarder(PlanDeReduction plan, CompteurDeSyllabes compteur) {
+        for (int i = pairesEncodees.size() / 2; i < plan.size(); i++) {
+            pairesEncodees.add(FormatBinaire.encoder(plan.get(i).getSyllabeARemplacer()));
+            pairesEncodees.add(FormatBinaire.encoder(plan.get(i).getNouvelleValeur()));
+        }
+
+        long[] paires = pairesEncodees.stream().mapToLong(Long::longValue).toArray();
+        long[] syllabes = new long[compteur.size()];
+        int[] comptes = new int[compteur.size()];
+        int i = 0;
+
+        for (Map.Entry<SyllabeFrancais, Integer> entree : compteur.entrySet()) {
+            syllabes[i] = FormatBinaire.encoder(entree.getKey());
+            comptes[i] = entree.getValue();
+            i++;
+        }
+
+        derniereSauvegarde = System.currentTimeMillis();
+        sauvegarde = ecrivain.submit(() -> ecrire(paires, syllabes, comptes));
+    }
+
+
+    /**
+     * Écrit un état dans un fichier temporaire, puis remplace le fichier de reprise.
+     *
+     * @param paires   les remplacements planifiés, encodés deux à deux.
+     * @param syllabes les syllabes du compteur, encodées.
+     * @param comptes  le compte de chaque syllabe du compteur.
+     */
+    private void ecrire(long[] paires, long[] syllabes, int[] comptes) {
+        Path temporaire = fichier.resolveSibling(fichier.getFileName() + Constantes.EXTENSION_TEMPORAIRE);
+
+        try {
+            try (DataOutputStream sortie = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaire)))) {
+                sortie.writeInt(SIGNATURE);
+                sortie.writeInt(VERSION);
+                sortie.writeInt(empreinte.length);
+                sortie.write(empreinte);
+                sortie.writeInt(nombreDeSyllabes);
+                sortie.writeInt(paires.length / 2);
+                for (long paire : paires) {
+                    sortie.writeLong(paire);
+                }
+                sortie.writeInt(syllabes.length);
+                for (int i = 0; i < syllabes.length; i++) {
+                    sortie.writeLong(syllabes[i]);
+                    sortie.writeInt(comptes[i]);
+                }
+            }
+            Files.move(temporaire, fichier, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Erreur.LECTURE_ECRITURE.afficher("\"" + fichier + "\" " + e);
+        }
+    }
+
+
+    /**
+     * Termine la réduction : attend la fin de la sauvegarde en cours, puis supprime le fichier de reprise.
+     */
+    public void terminer() {
+        ecrivain.shutdown();
+        try {
+            ecrivain.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            Files.deleteIfExists(fichier);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            Erreur.LECTURE_ECRITURE.afficher("\"" + fichier + "\" " + e);
+        }
+    }
+}
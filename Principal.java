@@ -1,3 +1,8 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
 
 /**
@@ -50,12 +55,167 @@ public class Principal {
     }
 
 
+    /**
+     * Démarre le serveur de réduction et le garde actif jusqu'à l'arrêt de l'application.
+     * <p>
+     * Le premier argument suivant {@code Textes.OPTION_SERVEUR}, s'il est présent, indique le port d'écoute.
+     *
+     * @param args Les paramètres externe de l'application.
+     * @see ServeurDeReduction
+     */
+    public static void demarrerServeur(String[] args) {
+        int port = Constantes.PORT_SERVEUR_DEFAUT;
+        ServeurDeReduction serveur = null;
+
+        try {
+            if (args.length > 1) {
+                port = Integer.parseInt(args[1]);
+            }
+            serveur = new ServeurDeReduction(port,
+                    new CacheDeReduction(Constantes.CACHE_MAXIMUM_ENTREES, Constantes.CACHE_MAXIMUM_OCTETS));
+        } catch (NumberFormatException e) {
+            Erreur.ARGUMENTS.lancer("  Port : " + args[1]);
+        } catch (IOException e) {
+            Erreur.SERVEUR.lancer(e.getMessage());
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(serveur::arreter));
+        serveur.demarrer();
+        System.out.println(Textes.MSSG_SERVEUR_DEMARRE + serveur.getPort());
+    }
+
+
+    /**
+     * Réduit un lot de fichiers sans interaction avec l'utilisateur.
+     * <p>
+     * Les arguments suivant {@code Textes.OPTION_LOT} sont le nombre de syllabes à obtenir, puis les fichiers et
+     * les répertoires à traiter.  Avec {@code Textes.OPTION_PIPELINE}, les fichiers sont traités par une
+     * {@code PipelineDeReduction} plutôt que par un bassin de fils.  Les options qui suivent, dans n'importe quel
+     * ordre, modifient le traitement : avec {@code Textes.OPTION_COMPACT}, les résultats sont écrits dans le
+     * {@code FormatCompact} ; avec {@code Textes.OPTION_REPRISE}, les réductions du {@code Textes.OPTION_LOT}
+     * sauvegardent leur état et reprennent là où elles avaient été interrompues.
+     *
+     * @param args Les paramètres externe de l'application.
+     * @see TraitementParLot
+     * @see PipelineDeReduction
+     */
+    public static void traiterLot(String[] args) {
+        int nombreDeSyllabes = 0;
+        boolean compact = false;
+        boolean reprise = false;
+        int premier = 1;
+        List<Path> chemins = new ArrayList<>();
+        List<Path> fichiers = null;
+
+        for (; premier < args.length; premier++) {
+            if (Textes.OPTION_COMPACT.equals(args[premier])) {
+                compact = true;
+            } else if (Textes.OPTION_REPRISE.equals(args[premier])) {
+                reprise = true;
+            } else {
+                break;
+            }
+        }
+        if (reprise && Textes.OPTION_PIPELINE.equals(args[0])) {
+            Erreur.ARGUMENTS.lancer("  " + Textes.OPTION_REPRISE + " : " + Textes.OPTION_LOT + " seulement");
+        }
+        if (args.length < premier + 2) {
+            Erreur.ARGUMENTS.lancer();
+        }
+        try {
+            nombreDeSyllabes = Integer.parseInt(args[premier]);
+        } catch (NumberFormatException e) {
+            Erreur.ARGUMENTS.lancer("  Nombre de syllabes : " + args[premier]);
+        }
+        if (nombreDeSyllabes < Constantes.MIN_NOMBRE_SYLLABE) {
+            Erreur.NOMBRE_SYLLABE.lancer("  Valeur entrée : " + nombreDeSyllabes);
+        }
+        for (int i = premier + 1; i < args.length; i++) {
+            chemins.add(Path.of(args[i]));
+        }
+
+        try {
+            fichiers = TraitementParLot.listerFichiers(chemins);
+        } catch (UncheckedIOException e) {
+            Erreur.LECTURE_ECRITURE.lancer(e.getMessage());
+        }
+
+        int reussis;
+        if (Textes.OPTION_PIPELINE.equals(args[0])) {
+            reussis = new PipelineDeReduction(nombreDeSyllabes, Constantes.CAPACITE_FILE_PIPELINE, compact)
+                    .traiter(fichiers);
+        } else {
+            reussis = new TraitementParLot(nombreDeSyllabes,
+                    new CacheDeReduction(Constantes.CACHE_MAXIMUM_ENTREES, Constantes.CACHE_MAXIMUM_OCTETS), compact,
+                    reprise).traiter(fichiers);
+        }
+
+        System.out.println(Textes.MSSG_LOT_TERMINE + reussis + "/" + fichiers.size());
+    }
+
+
+    /**
+     * Décode des fichiers écrits dans le {@code FormatCompact}.
+     * <p>
+     * Les arguments suivant {@code Textes.OPTION_DECODER} sont les fichiers à décoder.  La forme textuelle de
+     * chacun est écrite à côté de celui-ci, sous le même nom sans {@code Constantes.EXTENSION_COMPACTE}.
+     *
+     * @param args Les paramètres externe de l'application.
+     * @see FormatCompact
+     */
+    public static void decoder(String[] args) {
+        int reussis = 0;
+
+        if (args.length < 2) {
+            Erreur.ARGUMENTS.lancer();
+        }
+        for (int i = 1; i < args.length; i++) {
+            try {
+                TraitementParLot.decoder(Path.of(args[i]));
+                reussis++;
+            } catch (IOException e) {
+                Erreur.LECTURE_ECRITURE.afficher("\"" + args[i] + "\" " + e);
+            }
+        }
+
+        System.out.println(Textes.MSSG_DECODAGE_TERMINE + reussis + "/" + (args.length - 1));
+    }
+
+
+    /**
+     * Mesure les seuils de la {@code CalibrationDesMoteurs} de la machine courante et les enregistre pour les
+     * exécutions suivantes.
+     *
+     * @see CalibrationDesMoteurs
+     */
+    public static void calibrer() {
+        System.out.print(Textes.MSSG_CALIBRATION_TERMINEE + CalibrationDesMoteurs.calibrer());
+    }
+
+
     /**
      * Programme principal de l'application
      *
      * @param args Les paramètres externe de l'application.
      */
     public static void main(String[] args) {
+        if (args.length > 0 && Textes.OPTION_SERVEUR.equals(args[0])) {
+            demarrerServeur(args);
+            return;
+        }
+        if (args.length > 0 && (Textes.OPTION_LOT.equals(args[0]) || Textes.OPTION_PIPELINE.equals(args[0]))) {
+            traiterLot(args);
+            return;
+        }
+        if (args.length > 0 && Textes.OPTION_DECODER.equals(args[0])) {
+            decoder(args);
+            return;
+        }
+        if (args.length > 0 && Textes.OPTION_CALIBRER.equals(args[0])) {
+            calibrer();
+            return;
+        }
+
         // cette partie du code lie les entrées.
         Scanner scanner = new Scanner(System.in);
         String nomFichier = demanderNomFichier(scanner);
@@ -0,0 +1,185 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Publie les syllabes réduites d'un fichier au fur et à mesure de leur lecture.
+ * <p>
+ * Chaque abonné reçoit la suite de syllabes du fichier source, où chaque syllabe est remplacée selon les
+ * correspondances données.  Les syllabes ne sont lues qu'à la demande de l'abonné : la mémoire utilisée ne dépend
+ * que du nombre de syllabes distinctes, peu importe la longueur du fichier.
+ * <p>
+ * {@code reduit} construit un publicateur en deux passes : la première passe compte les syllabes et planifie la
+ * réduction, la seconde est faite par chaque abonnement.
+ *
+ * @see LecteurDeSyllabes
+ * @see PlanDeReduction
+ */
+public class PublicateurDeSyllabes implements Flow.Publisher<SyllabeFrancais> {
+    private final Path source;
+    private final Map<SyllabeFrancais, SyllabeFrancais> correspondances;
+
+
+    /**
+     * Construit un publicateur.
+     *
+     * @param source          le fichier qui contient la suite de syllabes, en UTF-8.
+     * @param correspondances associe chaque syllabe à remplacer à sa nouvelle valeur.
+     */
+    public PublicateurDeSyllabes(Path source, Map<SyllabeFrancais, SyllabeFrancais> correspondances) {
+        this.source = source;
+        this.correspondances = correspondances;
+    }
+
+
+    /**
+     * Construit un publicateur qui réduit le fichier source au {@code nombreDeSyllabes} demandé.
+     * <p>
+     * Cette première passe sur le fichier ne conserve que le {@code CompteurDeSyllabes}.
+     *
+     * @param source           le fichier qui contient la suite de syllabes, en UTF-8.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @return le publicateur des syllabes réduites.
+     * @throws IOException si le fichier ne peut pas être lu.
+     */
+    public static PublicateurDeSyllabes reduit(Path source, int nombreDeSyllabes) throws IOException {
+        CompteurDeSyllabes compteur = new CompteurDeSyllabes();
+
+        try (LecteurDeSyllabes lecteur = new LecteurDeSyllabes(new Scanner(source, StandardCharsets.UTF_8))) {
+            lecteur.forEachRemaining(compteur::ajoute);
+        }
+
+        return new PublicateurDeSyllabes(source, new PlanDeReduction(compteur, nombreDeSyllabes).correspondances());
+    }
+
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super SyllabeFrancais> abonne) {
+        Abonnement abonnement = new Abonnement(abonne);
+
+        abonne.onSubscribe(abonnement);
+    }
+
+
+    /**
+     * L'abonnement d'un abonné, qui lit le fichier source selon la demande reçue.
+     * <p>
+     * Les appels à {@code request} peuvent venir de plusieurs fils, ou de l'abonné pendant qu'il reçoit une
+     * syllabe.  Un seul appel à la fois effectue la lecture et envoie les signaux à l'abonné ; les autres ne font
+     * qu'ajouter leur demande, ou l'erreur d'une demande invalide.  La fin de la suite est signalée dès la dernière
+     * syllabe envoyée, sans attendre une nouvelle demande.
+     */
+    private class Abonnement implements Flow.Subscription {
+        private final Flow.Subscriber<? super SyllabeFrancais> abonne;
+        private final AtomicLong demande = new AtomicLong();
+        private final AtomicInteger travaux = new AtomicInteger();
+        private volatile boolean annule = false;
+        private volatile Throwable erreur = null;
+        private LecteurDeSyllabes lecteur = null;
+        private boolean termine = false;
+
+
+        private Abonnement(Flow.Subscriber<? super SyllabeFrancais> abonne) {
+            this.abonne = abonne;
+        }
+
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                if (erreur == null) {
+                    erreur = new IllegalArgumentException("request(" + n + ")");
+                }
+            } else {
+                demande.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            }
+            publier();
+        }
+
+
+        @Override
+        public void cancel() {
+            annule = true;
+            publier();
+        }
+
+
+        /**
+         * Envoie à l'abonné autant de syllabes que la demande le permet, puis la fin de la suite si elle est
+         * atteinte.  Une demande invalide est signalée avant toute autre syllabe.
+         */
+        private void publier() {
+            int manquants = 1;
+
+            if (travaux.getAndIncrement() == 0) {
+                do {
+                    if (erreur != null && !termine && !annule) {
+                        terminer();
+                        abonne.onError(erreur);
+                    }
+                    while (!termine && !annule && demande.get() > 0) {
+                        publierSuivante();
+                    }
+                    if (!termine && !annule && lecteur != null) {
+                        publierFin();
+                    }
+                    if (annule && !termine) {
+                        terminer();
+                    }
+                    manquants = travaux.addAndGet(-manquants);
+                } while (manquants != 0);
+            }
+        }
+
+
+        /**
+         * Lit la prochaine syllabe et l'envoie à l'abonné, ou signale la fin de la suite.
+         */
+        private void publierSuivante() {
+            try {
+                if (lecteur == null) {
+                    lecteur = new LecteurDeSyllabes(new Scanner(source, StandardCharsets.UTF_8));
+                }
+
+                if (lecteur.hasNext()) {
+                    SyllabeFrancais syllabe = lecteur.next();
+
+                    demande.decrementAndGet();
+                    abonne.onNext(correspondances.getOrDefault(syllabe, syllabe));
+                } else {
+                    terminer();
+                    abonne.onComplete();
+                }
+            } catch (IOException e) {
+                terminer();
+                abonne.onError(e);
+            }
+        }
+
+
+        /**
+         * Signale la fin de la suite à l'abonné si la dernière syllabe a été envoyée, même s'il ne demande plus
+         * de syllabe.
+         */
+        private void publierFin() {
+            if (!lecteur.hasNext()) {
+                terminer();
+                abonne.onComplete();
+            }
+        }
+
+
+        private void terminer() {
+            termine = true;
+            if (lecteur != null) {
+                lecteur.close();
+            }
+        }
+    }
+}
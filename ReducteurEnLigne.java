@@ -0,0 +1,227 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Réduit une suite de syllabes sans fin, une syllabe à la fois.
+ * <p>
+ * Le réducteur garde au plus {@code maximum} syllabes distinctes, les représentants.  Lorsqu'une nouvelle syllabe
+ * distincte ferait dépasser ce maximum, les deux représentants les plus proches selon
+ * {@code SyllabeFrancais.distanceA} sont fusionnés : le moins fréquent est remplacé par l'autre, comme dans
+ * {@code CompteurDeSyllabes.choisirSyllabesARemplacer}.
+ * <p>
+ * Chaque représentant conserve son plus proche voisin, et chaque syllabe remplacée désigne directement son
+ * représentant courant.  Une syllabe déjà connue coûte donc un temps constant et une nouvelle syllabe distincte
+ * coûte un temps proportionnel à {@code maximum} (au pire à son carré) plus le nombre de syllabes remplacées,
+ * peu importe la longueur de la suite déjà traitée.  La mémoire occupée est bornée de la même façon par
+ * {@code maximum} et par le nombre de syllabes distinctes possibles.
+ *
+ * @see CompteurDeSyllabes
+ * @see SyllabeFrancais#distanceA(SyllabeFrancais)
+ */
+public class ReducteurEnLigne {
+    private final int maximum;
+
+    /**
+     * Le compte courant de chaque représentant.
+     */
+    private final CompteurDeSyllabes compteur = new CompteurDeSyllabes();
+
+    /**
+     * Associe chaque syllabe fusionnée à son représentant courant.
+     */
+    private final HashMap<SyllabeFrancais, SyllabeFrancais> remplacements = new HashMap<>();
+
+    /**
+     * Les syllabes fusionnées dans chaque représentant, directement ou non.
+     */
+    private final HashMap<SyllabeFrancais, ArrayList<SyllabeFrancais>> remplacees = new HashMap<>();
+
+    /**
+     * Le plus proche autre représentant de chaque représentant.
+     */
+    private final HashMap<SyllabeFrancais, SyllabeFrancais> plusProche = new HashMap<>();
+
+    /**
+     * La distance entre chaque représentant et son plus proche autre représentant.
+     */
+    private final HashMap<SyllabeFrancais, Integer> distanceAuPlusProche = new HashMap<>();
+
+
+    /**
+     * Construit un réducteur en ligne.
+     *
+     * @param maximum le nombre maximal de syllabes distinctes émises.  Doit être plus grand ou égal à
+     *                {@code Constantes.MIN_NOMBRE_SYLLABE}.
+     * @throws IllegalArgumentException si {@code maximum} est plus petit que {@code Constantes.MIN_NOMBRE_SYLLABE}.
+     */
+    public ReducteurEnLigne(int maximum) {
+        if (maximum < Constantes.MIN_NOMBRE_SYLLABE) {
+            throw new IllegalArgumentException("le maximum (" + maximum + ") est plus petit que "
+                    + Constantes.MIN_NOMBRE_SYLLABE);
+        }
+        this.maximum = maximum;
+    }
+
+
+    /**
+     * Traite la prochaine syllabe de la suite.
+     *
+     * @param syllabe la syllabe reçue.
+     * @return le représentant courant de la syllabe, à émettre à sa place.
+     */
+    public SyllabeFrancais ajoute(SyllabeFrancais syllabe) {
+        SyllabeFrancais representant = representantDe(syllabe);
+
+        if (compteur.containsKey(representant)) {
+            compteur.ajoute(representant);
+        } else {
+            inserer(representant);
+            if (compteur.size() > maximum) {
+                fusionner(choisirSyllabesARemplacer());
+                representant = representantDe(representant);
+            }
+        }
+
+        return representant;
+    }
+
+
+    /**
+     * Donne le représentant courant d'une syllabe.
+     *
+     * @param syllabe la syllabe cherchée.
+     * @return le représentant de la syllabe, ou la syllabe elle-même si elle n'a jamais été remplacée.
+     */
+    public SyllabeFrancais representantDe(SyllabeFrancais syllabe) {
+        return remplacements.getOrDefault(syllabe, syllabe);
+    }
+
+
+    /**
+     * Donne les représentants courants et leur nombre d'occurrences.
+     *
+     * @return une copie du compte des représentants.
+     */
+    public CompteurDeSyllabes getCompteur() {
+        CompteurDeSyllabes resultat = new CompteurDeSyllabes();
+
+        resultat.putAll(compteur);
+
+        return resultat;
+    }
+
+
+    /**
+     * Ajoute un nouveau représentant et met à jour les plus proches voisins.
+     *
+     * @param syllabe le nouveau représentant.
+     */
+    private void inserer(SyllabeFrancais syllabe) {
+        for (SyllabeFrancais autre : compteur.keySet()) {
+            int distance = syllabe.distanceA(autre);
+
+            if (!plusProche.containsKey(syllabe) || distance < distanceAuPlusProche.get(syllabe)) {
+                plusProche.put(syllabe, autre);
+                distanceAuPlusProche.put(syllabe, distance);
+            }
+            if (!plusProche.containsKey(autre) || distance < distanceAuPlusProche.get(autre)) {
+                plusProche.put(autre, syllabe);
+                distanceAuPlusProche.put(autre, distance);
+            }
+        }
+        compteur.put(syllabe, 1);
+    }
+
+
+    /**
+     * Sélectionne les deux représentants les plus proches.
+     *
+     * @return une {@code PaireDeSyllabes} dont la syllabe à remplacer est la moins fréquente des deux.
+     */
+    private PaireDeSyllabes choisirSyllabesARemplacer() {
+        int plusPetiteDistance = Integer.MAX_VALUE;
+        SyllabeFrancais choixSyllabe1 = null;
+        SyllabeFrancais choixSyllabe2 = null;
+        PaireDeSyllabes paire;
+
+        for (SyllabeFrancais candidat : compteur.keySet()) {
+            int distance = distanceAuPlusProche.get(candidat);
+
+            if (distance < plusPetiteDistance) {
+                plusPetiteDistance = distance;
+                choixSyllabe1 = candidat;
+                choixSyllabe2 = plusProche.get(candidat);
+            }
+        }
+
+        if (compteur.get(choixSyllabe1) < compteur.get(choixSyllabe2)) {
+            paire = new PaireDeSyllabes(choixSyllabe1, choixSyllabe2);
+        } else {
+            paire = new PaireDeSyllabes(choixSyllabe2, choixSyllabe1);
+        }
+        return paire;
+    }
+
+
+    /**
+     * Remplace un représentant par un autre et recalcule les plus proches voisins qui désignaient le représentant
+     * retiré.
+     * <p>
+     * Les syllabes que remplaçait le représentant retiré désignent désormais le nouveau représentant, de sorte
+     * qu'aucune chaîne de remplacements ne se forme.
+     *
+     * @param paire la paire de représentants à fusionner.
+     */
+    private void fusionner(PaireDeSyllabes paire) {
+        SyllabeFrancais syllabeARemplacer = paire.getSyllabeARemplacer();
+        SyllabeFrancais nouvelleValeur = paire.getNouvelleValeur();
+        ArrayList<SyllabeFrancais> groupe = remplacees.computeIfAbsent(nouvelleValeur, cle -> new ArrayList<>());
+        ArrayList<SyllabeFrancais> groupeRetire = remplacees.remove(syllabeARemplacer);
+
+        if (groupeRetire != null) {
+            for (SyllabeFrancais remplacee : groupeRetire) {
+                remplacements.put(remplacee, nouvelleValeur);
+            }
+            groupe.addAll(groupeRetire);
+        }
+        remplacements.put(syllabeARemplacer, nouvelleValeur);
+        groupe.add(syllabeARemplacer);
+
+        compteur.put(nouvelleValeur, compteur.get(nouvelleValeur) + compteur.remove(syllabeARemplacer));
+        plusProche.remove(syllabeARemplacer);
+        distanceAuPlusProche.remove(syllabeARemplacer);
+
+        for (Map.Entry<SyllabeFrancais, SyllabeFrancais> voisin : plusProche.entrySet()) {
+            if (voisin.getValue().equals(syllabeARemplacer)) {
+                recalculerPlusProche(voisin.getKey());
+            }
+        }
+    }
+
+
+    /**
+     * Recalcule le plus proche voisin d'un représentant.
+     *
+     * @param syllabe le représentant dont le voisin a été retiré.
+     */
+    private void recalculerPlusProche(SyllabeFrancais syllabe) {
+        SyllabeFrancais choix = null;
+        int plusPetiteDistance = Integer.MAX_VALUE;
+
+        for (SyllabeFrancais autre : compteur.keySet()) {
+            if (!autre.equals(syllabe)) {
+                int distance = syllabe.distanceA(autre);
+
+                if (distance < plusPetiteDistance) {
+                    plusPetiteDistance = distance;
+                    choix = autre;
+                }
+            }
+        }
+
+        plusProche.put(syllabe, choix);
+        distanceAuPlusProche.put(syllabe, plusPetiteDistance);
+    }
+}
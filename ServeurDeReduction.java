@@ -0,0 +1,250 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Un serveur HTTP local qui effectue des réductions de son sans relancer la machine virtuelle.
+ * <p>
+ * Le serveur garde la machine virtuelle chaude : le chargement des classes, la construction des tables des
+ * constantes de l'API et la compilation à la volée ne sont payés qu'une seule fois.  Chaque requête est traitée
+ * sur un fil virtuel lorsque la plateforme le permet, sinon sur un fil d'un bassin extensible.
+ * <p>
+ * Une requête {@code POST} sur {@code /reduire?syllabes=N} contient la suite de syllabes (en UTF-8) dans son corps.
+ * La réponse contient la suite de syllabes réduite à {@code N} syllabes distinctes.  Les résultats sont conservés
+ * dans un {@code CacheDeReduction} dont les statistiques sont offertes sur {@code /statistiques}.
+ *
+ * @see TexteSonore
+ * @see CacheDeReduction
+ */
+public class ServeurDeReduction {
+    /**
+     * Le chemin auquel les demandes de réduction sont reçues.
+     */
+    public static final String CHEMIN_REDUIRE = "/reduire";
+
+    /**
+     * Le nom du paramètre de la requête qui contient le nombre de syllabes à obtenir.
+     */
+    public static final String PARAMETRE_SYLLABES = "syllabes";
+
+    /**
+     * Le chemin auquel les statistiques du cache sont offertes.
+     */
+    public static final String CHEMIN_STATISTIQUES = "/statistiques";
+
+    /**
+     * Le texte utilisé pour préchauffer le serveur avant d'accepter les requêtes.
+     */
+    private static final String TEXTE_PRECHAUFFAGE = "pa.ba.ta.da.ka.ɡa.ma.na";
+
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_REQUETE_INVALIDE = 400;
+    private static final int HTTP_METHODE_INTERDITE = 405;
+    private static final int HTTP_ERREUR_INTERNE = 500;
+
+    private final HttpServer serveur;
+    private final ExecutorService executeur;
+    private final CacheDeReduction cache;
+
+
+    /**
+     * Construit un serveur de réduction qui écoute sur l'interface locale.
+     *
+     * @param port  le port sur lequel le serveur écoute.
+     * @param cache le cache des résultats de réduction.
+     * @throws IOException si le port ne peut pas être réservé.
+     */
+    public ServeurDeReduction(int port, CacheDeReduction cache) throws IOException {
+        this.cache = cache;
+        serveur = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port),
+                Constantes.FILE_ATTENTE_SERVEUR);
+        executeur = creerExecuteur();
+        serveur.setExecutor(executeur);
+        serveur.createContext(CHEMIN_REDUIRE, this::traiterReduction);
+        serveur.createContext(CHEMIN_STATISTIQUES, this::traiterStatistiques);
+    }
+
+
+    /**
+     * Crée l'exécuteur des requêtes.
+     * <p>
+     * Les fils virtuels sont utilisés s'ils sont offerts par la plateforme (Java 21 et plus).  Sinon, un bassin
+     * de fils extensible est utilisé.
+     *
+     * @return l'exécuteur qui traitera les requêtes.
+     */
+    private static ExecutorService creerExecuteur() {
+        ExecutorService resultat;
+
+        try {
+            resultat = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            resultat = Executors.newCachedThreadPool();
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Préchauffe puis démarre le serveur.  Si la machine n'a pas de calibration valide, le banc d'essai de la
+     * {@code CalibrationDesMoteurs} est lancé en arrière-plan : les requêtes n'attendent pas sa fin.
+     */
+    public void demarrer() {
+        new TexteSonore(new Scanner(TEXTE_PRECHAUFFAGE)).reduitA(Constantes.MIN_NOMBRE_SYLLABE);
+        CalibrationDesMoteurs.calibrerEnArrierePlan();
+        serveur.start();
+    }
+
+
+    /**
+     * Arrête le serveur après avoir laissé une seconde aux requêtes en cours pour se terminer.
+     */
+    public void arreter() {
+        serveur.stop(1);
+        executeur.shutdown();
+    }
+
+
+    /**
+     * Donne le port sur lequel le serveur écoute.
+     *
+     * @return le port du serveur.
+     */
+    public int getPort() {
+        return serveur.getAddress().getPort();
+    }
+
+
+    /**
+     * Lit une suite de syllabes et la réduit au {@code nombreDeSyllabes} demandé.
+     * <p>
+     * Le résultat est pris dans le cache s'il s'y trouve, sinon il est calculé puis ajouté au cache.
+     *
+     * @param texte            la suite de syllabes, séparées par {@code TexteSonore.SEPARATEUR}.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @return la suite de syllabes réduite.
+     */
+    public String reduire(String texte, int nombreDeSyllabes) {
+        TexteSonore texteSonore = new TexteSonore(new Scanner(texte));
+        CleDeReduction cle = new CleDeReduction(texteSonore, nombreDeSyllabes);
+        String resultat = cache.chercher(cle);
+
+        if (resultat == null) {
+            texteSonore.reduitA(nombreDeSyllabes);
+            resultat = texteSonore.toString();
+            cache.ajouter(cle, resultat);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Traite une demande de réduction reçue par le serveur.
+     * <p>
+     * Une erreur survenue pendant la lecture ou la réduction du texte est signalée au client par une réponse
+     * {@code 500}, plutôt que par la fermeture de la connexion.
+     *
+     * @param echange l'échange HTTP de la requête.
+     * @throws IOException si la réponse ne peut pas être envoyée.
+     */
+    private void traiterReduction(HttpExchange echange) throws IOException {
+        try (echange) {
+            if (!"POST".equals(echange.getRequestMethod())) {
+                repondre(echange, HTTP_METHODE_INTERDITE, Textes.MSSG_ERREUR + Textes.MSSG_ERREUR_REQUETE);
+            } else {
+                int nombreDeSyllabes = lireNombreDeSyllabes(echange.getRequestURI().getRawQuery());
+
+                if (nombreDeSyllabes < Constantes.MIN_NOMBRE_SYLLABE) {
+                    repondre(echange, HTTP_REQUETE_INVALIDE,
+                            Textes.MSSG_ERREUR + Textes.MSSG_ERREUR_NOMBRE_SYLLABE);
+                } else {
+                    String texte = new String(echange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+                    String reduit;
+
+                    try {
+                        reduit = reduire(texte, nombreDeSyllabes);
+                    } catch (RuntimeException e) {
+                        reduit = null;
+                    }
+
+                    if (reduit == null) {
+                        repondre(echange, HTTP_ERREUR_INTERNE,
+                                Textes.MSSG_ERREUR + Textes.MSSG_ERREUR_REDUCTION);
+                    } else {
+                        repondre(echange, HTTP_OK, reduit);
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Envoie les statistiques du cache.
+     *
+     * @param echange l'échange HTTP de la requête.
+     * @throws IOException si la réponse ne peut pas être envoyée.
+     */
+    private void traiterStatistiques(HttpExchange echange) throws IOException {
+        try (echange) {
+            repondre(echange, HTTP_OK, cache.toString());
+        }
+    }
+
+
+    /**
+     * Extrait le nombre de syllabes demandé des paramètres de la requête.
+     *
+     * @param requete les paramètres de la requête.  Peut être {@code null}.
+     * @return le nombre de syllabes demandé, ou {@code 0} si le paramètre est absent ou invalide.
+     */
+    private static int lireNombreDeSyllabes(String requete) {
+        int resultat = 0;
+
+        if (requete != null) {
+            for (String parametre : requete.split("&")) {
+                String[] cleValeur = parametre.split("=", 2);
+
+                if (cleValeur.length == 2 && PARAMETRE_SYLLABES.equals(cleValeur[0])) {
+                    try {
+                        resultat = Integer.parseInt(cleValeur[1]);
+                    } catch (NumberFormatException e) {
+                        resultat = 0;
+                    }
+                }
+            }
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Envoie une réponse textuelle en UTF-8.
+     *
+     * @param echange l'échange HTTP de la requête.
+     * @param code    le code de statut HTTP.
+     * @param corps   le contenu de la réponse.
+     * @throws IOException si la réponse ne peut pas être envoyée.
+     */
+    private static void repondre(HttpExchange echange, int code, String corps) throws IOException {
+        byte[] octets = corps.getBytes(StandardCharsets.UTF_8);
+
+        echange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        echange.sendResponseHeaders(code, octets.length);
+        try (OutputStream sortie = echange.getResponseBody()) {
+            sortie.write(octets);
+        }
+    }
+}
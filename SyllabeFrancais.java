@@ -16,6 +16,26 @@ import java.util.Scanner;
  * @see <a href="https://fr.wiktionary.org/wiki/Annexe:Prononciation/fran%C3%A7ais">référence</a>
  */
 public class SyllabeFrancais {
+    /**
+     * Bits de la structure d'une syllabe, utilisés par {@code structure} et {@code borneInferieureDistance}.
+     */
+    public static final int STRUCTURE_ATTAQUE = 1;
+    public static final int STRUCTURE_ATTAQUE_DOUBLE = 2;
+    public static final int STRUCTURE_CODA = 4;
+    public static final int STRUCTURE_CODA_DOUBLE = 8;
+    public static final int STRUCTURE_SEMI_VOYELLE = 16;
+    public static final int STRUCTURE_NASAL = 32;
+
+    /**
+     * Le nombre de structures différentes possibles.
+     */
+    public static final int NOMBRE_DE_STRUCTURES = 64;
+
+    /**
+     * La borne inférieure de la distance entre deux syllabes, pour chaque paire de structures.
+     */
+    private static final int[][] BORNES_INFERIEURES = calculerBornesInferieures();
+
     /**
      * Le groupe de consonne pour l'attaque de la syllabe.  S'il n'est pas présent, alors la valeur est à {@code null}.
      */
@@ -209,6 +229,112 @@ public class SyllabeFrancais {
     }
 
 
+    /**
+     * Décrit la structure de la syllabe : la présence de chaque groupe et de chaque phonème optionnel, ainsi que la
+     * nasalité du noyau.
+     * <p>
+     * Deux syllabes de structures différentes ont une distance d'au moins
+     * {@code borneInferieureDistance(structure1, structure2)}.
+     *
+     * @return une combinaison des bits {@code STRUCTURE_*}, inférieure à {@code NOMBRE_DE_STRUCTURES}.
+     */
+    public int structure() {
+        int resultat = 0;
+
+        if (attaque != null) {
+            resultat |= STRUCTURE_ATTAQUE | (attaque.consonne2 != null ? STRUCTURE_ATTAQUE_DOUBLE : 0);
+        }
+        if (coda != null) {
+            resultat |= STRUCTURE_CODA | (coda.consonne2 != null ? STRUCTURE_CODA_DOUBLE : 0);
+        }
+        if (noyau.semiVoyelle != null) {
+            resultat |= STRUCTURE_SEMI_VOYELLE;
+        }
+        if (noyau.estNasal()) {
+            resultat |= STRUCTURE_NASAL;
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Regroupe les caractéristiques sonores de la syllabe dans une signature.
+     * <p>
+     * La signature juxtapose les signatures de l'attaque, du noyau et du coda (un groupe absent vaut {@code 0}).
+     * Deux syllabes ont la même signature si et seulement si leur distance est nulle, même si elles sont écrites
+     * avec des symboles différents de l'API.
+     *
+     * @return la signature de la syllabe.
+     * @see ConsonneFrancais#signature()
+     * @see VoyelleFrancais#signature()
+     */
+    public long signature() {
+        long resultat = attaque == null ? 0 : attaque.signature();
+
+        resultat |= (long) noyau.signature() << ConsonneFrancais.BITS_SIGNATURE;
+        if (coda != null) {
+            resultat |= (long) coda.signature()
+                    << (ConsonneFrancais.BITS_SIGNATURE + VoyelleFrancais.BITS_SIGNATURE);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Donne une borne inférieure de {@code distanceA} entre deux syllabes, connaissant seulement leur structure.
+     * <p>
+     * La borne additionne les pénalités qui ne dépendent que de la structure : l'absence d'un groupe de consonnes
+     * ou d'une consonne secondaire, l'absence d'une semi-voyelle et la nasalité du noyau.
+     *
+     * @param structure1 la structure de la première syllabe.
+     * @param structure2 la structure de la seconde syllabe.
+     * @return une valeur qui ne dépasse jamais la distance entre deux syllabes ayant ces structures.
+     * @see #structure()
+     */
+    public static int borneInferieureDistance(int structure1, int structure2) {
+        return BORNES_INFERIEURES[structure1][structure2];
+    }
+
+
+    /**
+     * Calcule la table des bornes inférieures pour toutes les paires de structures.
+     *
+     * @return la table des bornes inférieures.
+     */
+    private static int[][] calculerBornesInferieures() {
+        int[][] resultat = new int[NOMBRE_DE_STRUCTURES][NOMBRE_DE_STRUCTURES];
+
+        for (int structure1 = 0; structure1 < NOMBRE_DE_STRUCTURES; structure1++) {
+            for (int structure2 = 0; structure2 < NOMBRE_DE_STRUCTURES; structure2++) {
+                int difference = structure1 ^ structure2;
+                int borne = 0;
+
+                if ((difference & STRUCTURE_ATTAQUE) != 0) {
+                    borne += 12;
+                } else if ((structure1 & STRUCTURE_ATTAQUE) != 0 && (difference & STRUCTURE_ATTAQUE_DOUBLE) != 0) {
+                    borne += 6;
+                }
+                if ((difference & STRUCTURE_CODA) != 0) {
+                    borne += 12;
+                } else if ((structure1 & STRUCTURE_CODA) != 0 && (difference & STRUCTURE_CODA_DOUBLE) != 0) {
+                    borne += 6;
+                }
+                if ((difference & STRUCTURE_SEMI_VOYELLE) != 0) {
+                    borne += 4 * 2;
+                }
+                if ((difference & STRUCTURE_NASAL) != 0) {
+                    borne += 2;
+                }
+                resultat[structure1][structure2] = borne;
+            }
+        }
+
+        return resultat;
+    }
+
+
     /**
      * Comptabilise le nombre total des distances entre deux {@code SyllabeFrancais}.
      *
@@ -0,0 +1,136 @@
+import java.util.HashMap;
+import java.util.List;
+
+
+/**
+ * Calcule les distances entre les syllabes d'une liste à l'aide de tables de distances entre leurs composantes.
+ * <p>
+ * Les syllabes distinctes d'un texte sont formées d'un nombre beaucoup plus petit de groupes de consonnes et de
+ * groupes de voyelles distincts.  Chaque groupe reçoit un numéro, puis les distances entre les groupes sont
+ * calculées une seule fois.  La distance entre deux syllabes se résume alors à trois lectures dans les tables.
+ * <p>
+ * Le numéro {@code 0} des groupes de consonnes représente l'absence d'attaque ou de coda : sa distance à tout
+ * autre groupe est la pénalité de {@code SyllabeFrancais.distanceA}.
+ *
+ * @see SyllabeFrancais#distanceA(SyllabeFrancais)
+ * @see ConsonneFrancais#distanceEntre(ConsonneFrancais)
+ * @see VoyelleFrancais#distanceEntre(VoyelleFrancais)
+ */
+public class TableDesDistances {
+    /**
+     * La distance ajoutée lorsqu'une seule des deux syllabes a une attaque (ou un coda).
+     */
+    private static final int PENALITE_GROUPE_ABSENT = 12;
+
+    private final int[] attaques;
+    private final int[] noyaux;
+    private final int[] codas;
+
+    private final int nombreDeConsonnes;
+    private final int nombreDeVoyelles;
+    private final int[] distancesConsonnes;
+    private final int[] distancesVoyelles;
+
+
+    /**
+     * Construit les tables de distances pour une liste de syllabes.
+     *
+     * @param syllabes les syllabes à comparer.  Leur position dans la liste sert d'indice à {@code distance}.
+     */
+    public TableDesDistances(List<SyllabeFrancais> syllabes) {
+        HashMap<ConsonneFrancais, Integer> numerosConsonnes = new HashMap<>();
+        HashMap<VoyelleFrancais, Integer> numerosVoyelles = new HashMap<>();
+        ConsonneFrancais[] consonnes = new ConsonneFrancais[2 * syllabes.size() + 1];
+        VoyelleFrancais[] voyelles = new VoyelleFrancais[syllabes.size()];
+
+        attaques = new int[syllabes.size()];
+        noyaux = new int[syllabes.size()];
+        codas = new int[syllabes.size()];
+
+        for (int i = 0; i < syllabes.size(); i++) {
+            SyllabeFrancais syllabe = syllabes.get(i);
+
+            attaques[i] = numeroter(syllabe.attaque, numerosConsonnes, consonnes);
+            codas[i] = numeroter(syllabe.coda, numerosConsonnes, consonnes);
+            noyaux[i] = numerosVoyelles.computeIfAbsent(syllabe.noyau, noyau -> {
+                voyelles[numerosVoyelles.size()] = noyau;
+                return numerosVoyelles.size();
+            });
+        }
+
+        nombreDeConsonnes = numerosConsonnes.size() + 1;
+        nombreDeVoyelles = numerosVoyelles.size();
+        distancesConsonnes = new int[nombreDeConsonnes * nombreDeConsonnes];
+        distancesVoyelles = new int[nombreDeVoyelles * nombreDeVoyelles];
+
+        for (int a = 0; a < nombreDeConsonnes; a++) {
+            for (int b = 0; b < nombreDeConsonnes; b++) {
+                int distance;
+
+                if (a == 0 || b == 0) {
+                    distance = a == b ? 0 : PENALITE_GROUPE_ABSENT;
+                } else {
+                    distance = consonnes[a].distanceEntre(consonnes[b]);
+                }
+                distancesConsonnes[a * nombreDeConsonnes + b] = distance;
+            }
+        }
+        for (int a = 0; a < nombreDeVoyelles; a++) {
+            for (int b = 0; b < nombreDeVoyelles; b++) {
+                distancesVoyelles[a * nombreDeVoyelles + b] = voyelles[a].distanceEntre(voyelles[b]);
+            }
+        }
+    }
+
+
+    /**
+     * Donne le numéro d'un groupe de consonnes, en lui attribuant un nouveau numéro au besoin.
+     *
+     * @param groupe    le groupe de consonnes, ou {@code null} s'il est absent.
+     * @param numeros   les numéros déjà attribués.
+     * @param consonnes les groupes de consonnes, indicés par leur numéro.
+     * @return le numéro du groupe, ou {@code 0} s'il est absent.
+     */
+    private static int numeroter(ConsonneFrancais groupe, HashMap<ConsonneFrancais, Integer> numeros,
+                                 ConsonneFrancais[] consonnes) {
+        int resultat = 0;
+
+        if (groupe != null) {
+            resultat = numeros.computeIfAbsent(groupe, consonne -> {
+                consonnes[numeros.size() + 1] = consonne;
+                return numeros.size() + 1;
+            });
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Donne la distance entre deux syllabes de la liste.
+     *
+     * @param i la position de la première syllabe.
+     * @param j la position de la seconde syllabe.
+     * @return la même valeur que {@code SyllabeFrancais.distanceA} entre les deux syllabes.
+     */
+    public int distance(int i, int j) {
+        return distancesVoyelles[noyaux[i] * nombreDeVoyelles + noyaux[j]] * 2
+                + distancesConsonnes[attaques[i] * nombreDeConsonnes + attaques[j]]
+                + distancesConsonnes[codas[i] * nombreDeConsonnes + codas[j]];
+    }
+
+
+    /**
+     * Donne le nombre de groupes de consonnes distincts, en comptant le groupe absent.
+     *
+     * @return le nombre de groupes de consonnes distincts.
+     */
+    public int getNombreDeConsonnes() { return nombreDeConsonnes; }
+
+    /**
+     * Donne le nombre de groupes de voyelles distincts.
+     *
+     * @return le nombre de groupes de voyelles distincts.
+     */
+    public int getNombreDeVoyelles() { return nombreDeVoyelles; }
+}
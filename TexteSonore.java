@@ -1,9 +1,18 @@
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 
 /**
@@ -14,11 +23,27 @@ import java.util.stream.Collectors;
  * @see SyllabeFrancais
  */
 public class TexteSonore extends ArrayList<SyllabeFrancais> {
+    /**
+     * La version de la forme sérialisée.
+     */
+    private static final long serialVersionUID = 1L;
+
     /**
      * Le caractère utilisé pour séparer les syllabes lors de la lecture et de l'écriture.
      */
     public static final String SEPARATEUR = ".";
 
+    /**
+     * Le compte des syllabes du texte tel que laissé par la dernière réduction, ou {@code null} s'il n'est plus
+     * valide.  Il permet à {@code ajouteEtReduitA} de ne pas recompter le texte déjà réduit.
+     */
+    private transient CompteurDeSyllabes compteurReduit = null;
+
+    /**
+     * La valeur de {@code modCount} au moment où {@code compteurReduit} a été conservé.
+     */
+    private transient int modificationsDuCompteurReduit = 0;
+
     /**
      * Construit une suite de syllabe vide.
      */
@@ -45,6 +70,18 @@ public class TexteSonore extends ArrayList<SyllabeFrancais> {
         scanner.close();
     }
 
+    /**
+     * Construit une suite de syllabes à partir du contenu d'un {@code Scanner}.
+     * <p>
+     * Le {@code Scanner} n'est pas fermé par ce constructeur.
+     *
+     * @param scanner le {@code Scanner} qui contient la suite de syllabes.
+     */
+    public TexteSonore(Scanner scanner) {
+        scanner.useDelimiter("");
+        lire(scanner);
+    }
+
 
     /**
      * Lit une suite de syllabe dans le {@code Scanner}.
@@ -78,30 +115,215 @@ public class TexteSonore extends ArrayList<SyllabeFrancais> {
     }
 
 
+    /**
+     * Calcule une empreinte du contenu du {@code TexteSonore}.
+     * <p>
+     * Deux {@code TexteSonore} ayant la même représentation textuelle ont la même empreinte.
+     *
+     * @return l'empreinte SHA-256 de la représentation textuelle.
+     */
+    public byte[] empreinte() {
+        byte[] resultat = null;
+
+        try {
+            resultat = MessageDigest.getInstance("SHA-256").digest(toString().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return resultat;
+    }
+
+
     /**
      * Réduit le {@code TexteSonore} au {@code nombreDeSyllabes} demandé.
+     * <p>
+     * Les remplacements sont d'abord planifiés sur le {@code CompteurDeSyllabes}, puis le texte est réécrit une
+     * seule fois.  Les paires sont choisies par le moteur exact qu'un {@code MoteurAdaptatif} juge le plus rapide.
      *
      * @param nombreDeSyllabes le nombre de syllabes ayant été préalablement entré par l'utilisateur.
+     * @see PlanDeReduction
+     * @see MoteurAdaptatif
      */
     public void reduitA(int nombreDeSyllabes) {
+        reduitA(nombreDeSyllabes, new MoteurAdaptatif(nombreDeSyllabes));
+    }
+
+
+    /**
+     * Réduit le {@code TexteSonore} au {@code nombreDeSyllabes} demandé, en choisissant les paires à fusionner avec
+     * le {@code moteur} fourni.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @param moteur           le moteur de sélection, utilisé pour cette réduction seulement.
+     * @see MoteurDeSelection
+     */
+    public void reduitA(int nombreDeSyllabes, MoteurDeSelection moteur) {
+        CompteurDeSyllabes compteur = new CompteurDeSyllabes(this);
+
+        applique(new PlanDeReduction(compteur, nombreDeSyllabes, moteur));
+        conserverCompteurReduit(compteur);
+    }
+
+
+    /**
+     * Réduit le {@code TexteSonore} au {@code nombreDeSyllabes} demandé, en sauvegardant régulièrement l'état de
+     * la réduction.  Si le point de reprise contient l'état d'une réduction interrompue du même texte au même
+     * nombre de syllabes, la réduction continue à partir de cet état.
+     * <p>
+     * Le résultat est le même que celui d'une réduction faite d'un seul trait.  Le fichier de reprise est supprimé
+     * une fois le plan terminé.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @param moteur           le moteur de sélection, utilisé pour cette réduction seulement.
+     * @param pointDeReprise   le point de reprise de cette réduction.
+     * @see PointDeReprise
+     */
+    public void reduitA(int nombreDeSyllabes, MoteurDeSelection moteur, PointDeReprise pointDeReprise) {
+        CompteurDeSyllabes compteur = new CompteurDeSyllabes(this);
+        PlanDeReduction plan = new PlanDeReduction();
+
+        pointDeReprise.reprendre(empreinte(), nombreDeSyllabes, plan, compteur);
+        plan.planifie(compteur, nombreDeSyllabes, moteur, pointDeReprise);
+        pointDeReprise.terminer();
+
+        applique(plan);
+        conserverCompteurReduit(compteur);
+    }
+
+
+    /**
+     * Réduit le {@code TexteSonore} vers le {@code nombreDeSyllabes} demandé, en s'arrêtant au bout du
+     * {@code delai} fourni.
+     * <p>
+     * Les paires sont choisies par un {@code MoteurParBalayage}, qui ne demande aucune préparation.  Si le délai
+     * semble trop court pour une réduction exacte, les paires suivantes, ou toutes les paires si le vocabulaire est
+     * trop grand, sont choisies par un moteur approximatif.  Si le délai est écoulé avant la fin, le texte est
+     * réduit selon les remplacements déjà choisis et contient plus de syllabes distinctes que demandé.  Le
+     * comptage et la réécriture du texte, en temps linéaire, ne sont pas bornés par le délai.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @param delai            le temps accordé à la planification de la réduction.
+     * @return le nombre de syllabes distinctes du texte réduit.
+     * @see PlanDeReduction#planifieAvant(CompteurDeSyllabes, int, MoteurDeSelection, long)
+     */
+    public int reduitA(int nombreDeSyllabes, Duration delai) {
+        long echeance = System.nanoTime() + delai.toNanos();
         CompteurDeSyllabes compteur = new CompteurDeSyllabes(this);
+        PlanDeReduction plan = new PlanDeReduction();
+
+        plan.planifieAvant(compteur, nombreDeSyllabes, new MoteurParBalayage(), echeance);
+        applique(plan);
+        conserverCompteurReduit(compteur);
+
+        return compteur.size();
+    }
 
-        while (compteur.size() > nombreDeSyllabes) {
-            remplaceSyllabesDansTexte(compteur.choisirSyllabesARemplacer());
-            compteur.initialiseValeurs(this);
+
+    /**
+     * Ajoute une suite de syllabes à la fin du texte, puis réduit le tout au {@code nombreDeSyllabes} demandé.
+     * <p>
+     * Le résultat est le même que celui de {@code addAll} suivi de {@code reduitA}.  Si le texte a été réduit et
+     * n'a pas été modifié depuis, seules les syllabes ajoutées sont comptées et réécrites ; le début du texte
+     * n'est réécrit que si une de ses syllabes est remplacée.  Sinon, tout le texte est réduit.
+     * <p>
+     * Les modifications faites par {@code set} ne sont pas détectées : elles doivent être suivies de
+     * {@code reduitA} plutôt que de cette méthode.
+     *
+     * @param suite            les syllabes à ajouter.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     */
+    public void ajouteEtReduitA(Collection<SyllabeFrancais> suite, int nombreDeSyllabes) {
+        if (compteurReduit == null || modificationsDuCompteurReduit != modCount) {
+            addAll(suite);
+            reduitA(nombreDeSyllabes);
+        } else {
+            CompteurDeSyllabes compteur = compteurReduit;
+            HashSet<SyllabeFrancais> anciennes = new HashSet<>(compteur.keySet());
+            int debut = size();
+
+            addAll(suite);
+            suite.forEach(compteur::ajoute);
+
+            PlanDeReduction plan = new PlanDeReduction(compteur, nombreDeSyllabes);
+            Map<SyllabeFrancais, SyllabeFrancais> correspondances = plan.correspondances();
+
+            if (correspondances.keySet().stream().anyMatch(anciennes::contains)) {
+                remplaceSyllabesDansTexte(correspondances, 0, size());
+            } else {
+                remplaceSyllabesDansTexte(correspondances, debut, size());
+            }
+            conserverCompteurReduit(compteur);
         }
     }
 
 
     /**
-     * Parcours le {@code TexteSonore} et remplace les instances d'une syllabe à remplacer par une deuxième.
+     * Réécrit le {@code TexteSonore} selon un {@code PlanDeReduction}.
      *
-     * @param paire contient contient les deux {@code SyllabesFraicais} servant au remplacement.
+     * @param plan le plan dont les remplacements sont appliqués au texte.
      */
-    private void remplaceSyllabesDansTexte(PaireDeSyllabes paire) {
-        for (int i = 0; i < size(); i++) {
-            if (get(i).equals(paire.getSyllabeARemplacer())) {
-                set(i, paire.getNouvelleValeur());
+    public void applique(PlanDeReduction plan) {
+        compteurReduit = null;
+        if (!plan.isEmpty()) {
+            remplaceSyllabesDansTexte(plan.correspondances(), 0, size());
+        }
+    }
+
+
+    /**
+     * Conserve le compte des syllabes du texte qui vient d'être réduit.
+     *
+     * @param compteur le compte des syllabes du texte réduit.
+     */
+    private void conserverCompteurReduit(CompteurDeSyllabes compteur) {
+        compteurReduit = compteur;
+        modificationsDuCompteurReduit = modCount;
+    }
+
+
+    /**
+     * Parcours une partie du {@code TexteSonore} et remplace chaque syllabe à remplacer par sa nouvelle valeur.
+     * <p>
+     * Une partie d'au moins {@code Constantes.SEUIL_REECRITURE_PARALLELE} syllabes est découpée en tranches
+     * disjointes réécrites en parallèle lorsque plusieurs processeurs sont disponibles.  Les tranches ne partagent
+     * aucune position : seules les cases du texte sont modifiées, sans changer sa taille.
+     *
+     * @param correspondances associe chaque {@code SyllabeFrancais} à remplacer à sa nouvelle valeur.
+     * @param debut           la position de la première syllabe à parcourir.
+     * @param fin             la position qui suit la dernière syllabe à parcourir.
+     */
+    private void remplaceSyllabesDansTexte(Map<SyllabeFrancais, SyllabeFrancais> correspondances,
+                                           int debut, int fin) {
+        if (fin - debut < Constantes.SEUIL_REECRITURE_PARALLELE || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            remplaceSyllabesDansTranche(correspondances, debut, fin);
+        } else {
+            int nombreDeTranches = 4 * ForkJoinPool.getCommonPoolParallelism();
+            long taille = fin - debut;
+
+            IntStream.range(0, nombreDeTranches)
+                    .parallel()
+                    .forEach(tranche -> remplaceSyllabesDansTranche(correspondances,
+                            debut + (int) (tranche * taille / nombreDeTranches),
+                            debut + (int) ((tranche + 1) * taille / nombreDeTranches)));
+        }
+    }
+
+
+    /**
+     * Remplace les syllabes d'une tranche du {@code TexteSonore}, sur le fil courant.
+     *
+     * @param correspondances associe chaque {@code SyllabeFrancais} à remplacer à sa nouvelle valeur.
+     * @param debut           la position de la première syllabe à parcourir.
+     * @param fin             la position qui suit la dernière syllabe à parcourir.
+     */
+    private void remplaceSyllabesDansTranche(Map<SyllabeFrancais, SyllabeFrancais> correspondances,
+                                             int debut, int fin) {
+        for (int i = debut; i < fin; i++) {
+            SyllabeFrancais nouvelleValeur = correspondances.get(get(i));
+
+            if (nouvelleValeur != null) {
+                set(i, nouvelleValeur);
             }
         }
     }
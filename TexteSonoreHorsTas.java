@@ -0,0 +1,390 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+
+/**
+ * Une suite de syllabes gardée hors du tas de la JVM, pour les textes de plusieurs milliards d'octets.
+ * <p>
+ * Le texte ne contient que le numéro de chaque syllabe dans un dictionnaire, sur quatre octets, rangé dans des
+ * segments de mémoire directe ou dans des régions projetées d'un fichier.  Seul le dictionnaire des syllabes
+ * distinctes est gardé dans le tas.  La réduction suit les mêmes étapes que celle d'un {@code TexteSonore} : le
+ * compte des syllabes, le {@code PlanDeReduction}, puis la réécriture de chaque segment.
+ * <p>
+ * La mémoire directe est libérée par le ramasse-miettes lorsque le texte n'est plus référencé.  Un texte gardé dans
+ * un fichier doit être fermé avec {@code close}, qui ramène le fichier à la taille du texte.  Ce fichier n'est
+ * qu'un espace de travail : il est vidé à l'ouverture et le dictionnaire n'y est pas enregistré, il ne peut donc
+ * pas être rouvert comme texte.  Le texte réduit se conserve sous sa forme textuelle, donnée par {@code toString},
+ * qui peut aussi être écrite dans le {@code FormatCompact}.
+ * <p>
+ * Un texte fermé ne peut plus être consulté ni modifié : chaque méthode lance alors une
+ * {@code IllegalStateException}.
+ *
+ * @see TexteSonore
+ */
+public class TexteSonoreHorsTas implements Iterable<SyllabeFrancais>, AutoCloseable {
+    /**
+     * Le nombre de syllabes d'un segment.
+     */
+    private static final int SYLLABES_PAR_SEGMENT = 1 << 22;
+
+    private final ArrayList<SyllabeFrancais> dictionnaire = new ArrayList<>();
+    private final HashMap<SyllabeFrancais, Integer> numeros = new HashMap<>();
+    private final ArrayList<IntBuffer> segments = new ArrayList<>();
+    private final FileChannel canal;
+    private long taille = 0;
+    private boolean ferme = false;
+
+
+    /**
+     * Construit un texte vide, gardé en mémoire directe.
+     */
+    public TexteSonoreHorsTas() {
+        canal = null;
+    }
+
+    /**
+     * Construit un texte vide, gardé dans un fichier de travail.  Le contenu précédent du fichier est effacé.
+     *
+     * @param fichier le fichier dans lequel les numéros des syllabes sont rangés.
+     * @throws IOException si le fichier ne peut pas être ouvert.
+     */
+    public TexteSonoreHorsTas(Path fichier) throws IOException {
+        canal = FileChannel.open(fichier, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+
+    /**
+     * Ajoute une syllabe à la fin du texte.
+     *
+     * @param syllabe la syllabe à ajouter.
+     * @throws UncheckedIOException si le fichier du texte ne peut pas être agrandi.
+     */
+    public void add(SyllabeFrancais syllabe) {
+        verifierOuvert();
+        if (taille == (long) segments.size() * SYLLABES_PAR_SEGMENT) {
+            segments.add(nouveauSegment());
+        }
+        segments.get(segment(taille)).put(position(taille), numero(syllabe));
+        taille++;
+    }
+
+
+    /**
+     * Ajoute à la fin du texte toutes les syllabes d'une suite, par exemple celles d'un {@code LecteurDeSyllabes}.
+     *
+     * @param syllabes la suite de syllabes à ajouter.
+     */
+    public void ajouteTout(Iterator<? extends SyllabeFrancais> syllabes) {
+        while (syllabes.hasNext()) {
+            add(syllabes.next());
+        }
+    }
+
+
+    /**
+     * Donne une syllabe du texte.
+     *
+     * @param index la position de la syllabe.
+     * @return la syllabe.
+     * @throws IndexOutOfBoundsException si la position est hors du texte.
+     */
+    public SyllabeFrancais get(long index) {
+        return dictionnaire.get(numeroA(index));
+    }
+
+
+    /**
+     * Remplace une syllabe du texte.
+     *
+     * @param index   la position de la syllabe.
+     * @param syllabe la nouvelle syllabe.
+     * @throws IndexOutOfBoundsException si la position est hors du texte.
+     */
+    public void set(long index, SyllabeFrancais syllabe) {
+        numeroA(index);
+        segments.get(segment(index)).put(position(index), numero(syllabe));
+    }
+
+
+    /**
+     * Donne le nombre de syllabes du texte.
+     *
+     * @return le nombre de syllabes.
+     */
+    public long size() {
+        verifierOuvert();
+        return taille;
+    }
+
+
+    @Override
+    public Iterator<SyllabeFrancais> iterator() {
+        verifierOuvert();
+        return new Iterator<>() {
+            private long suivante = 0;
+
+            @Override
+            public boolean hasNext() {
+                return suivante < taille;
+            }
+
+            @Override
+            public SyllabeFrancais next() {
+                if (suivante >= taille) {
+                    throw new NoSuchElementException();
+                }
+                return get(suivante++);
+            }
+        };
+    }
+
+
+    /**
+     * Compte les syllabes du texte.
+     *
+     * @return un {@code CompteurDeSyllabes} dont les clés sont dans l'ordre de la première occurrence de chaque
+     * syllabe, comme celui d'un {@code TexteSonore} ayant le même contenu.
+     */
+    public CompteurDeSyllabes compteur() {
+        verifierOuvert();
+        CompteurDeSyllabes resultat = new CompteurDeSyllabes();
+        int[] comptes = new int[dictionnaire.size()];
+        ArrayList<Integer> ordre = new ArrayList<>();
+
+        for (int indice = 0; indice < segments.size(); indice++) {
+            IntBuffer segment = segments.get(indice);
+            int fin = finDuSegment(indice);
+
+            for (int i = 0; i < fin; i++) {
+                int numero = segment.get(i);
+
+                if (comptes[numero]++ == 0) {
+                    ordre.add(numero);
+                }
+            }
+        }
+        for (int numero : ordre) {
+            resultat.put(dictionnaire.get(numero), comptes[numero]);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Réduit le texte au {@code nombreDeSyllabes} demandé.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @see TexteSonore#reduitA(int)
+     */
+    public void reduitA(int nombreDeSyllabes) {
+        reduitA(nombreDeSyllabes, new MoteurAdaptatif(nombreDeSyllabes));
+    }
+
+
+    /**
+     * Réduit le texte au {@code nombreDeSyllabes} demandé, en choisissant les paires à fusionner avec le
+     * {@code moteur} fourni.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @param moteur           le moteur de sélection, utilisé pour cette réduction seulement.
+     */
+    public void reduitA(int nombreDeSyllabes, MoteurDeSelection moteur) {
+        applique(new PlanDeReduction(compteur(), nombreDeSyllabes, moteur));
+    }
+
+
+    /**
+     * Réécrit le texte selon un {@code PlanDeReduction}.
+     * <p>
+     * Les correspondances du plan sont traduites en une table de numéros, puis chaque segment est réécrit.  Les
+     * segments sont réécrits en parallèle lorsque plusieurs processeurs sont disponibles.
+     *
+     * @param plan le plan dont les remplacements sont appliqués au texte.
+     */
+    public void applique(PlanDeReduction plan) {
+        verifierOuvert();
+        if (!plan.isEmpty()) {
+            int[] nouveauxNumeros = new int[dictionnaire.size()];
+
+            for (int numero = 0; numero < nouveauxNumeros.length; numero++) {
+                nouveauxNumeros[numero] = numero;
+            }
+            for (Map.Entry<SyllabeFrancais, SyllabeFrancais> correspondance : plan.correspondances().entrySet()) {
+                nouveauxNumeros[numeros.get(correspondance.getKey())] = numeros.get(correspondance.getValue());
+            }
+
+            IntStream indices = IntStream.range(0, segments.size());
+            if (ForkJoinPool.getCommonPoolParallelism() >= 2) {
+                indices = indices.parallel();
+            }
+            indices.forEach(indice -> reecrireSegment(indice, nouveauxNumeros));
+        }
+    }
+
+
+    /**
+     * Remplace les numéros d'un segment selon une table de numéros.
+     *
+     * @param indice          l'indice du segment.
+     * @param nouveauxNumeros associe chaque numéro à son nouveau numéro.
+     */
+    private void reecrireSegment(int indice, int[] nouveauxNumeros) {
+        IntBuffer segment = segments.get(indice);
+        int fin = finDuSegment(indice);
+
+        for (int i = 0; i < fin; i++) {
+            segment.put(i, nouveauxNumeros[segment.get(i)]);
+        }
+    }
+
+
+    /**
+     * Construit une chaîne de caractères contenant la suite de syllabe représenté par les symboles de l'API.
+     *
+     * @return la chaîne construite, identique à celle d'un {@code TexteSonore} ayant le même contenu.
+     */
+    @Override
+    public String toString() {
+        verifierOuvert();
+        return LongStream.range(0, taille)
+                .mapToObj(i -> get(i).toString())
+                .collect(Collectors.joining(TexteSonore.SEPARATEUR));
+    }
+
+
+    /**
+     * Ferme le texte.  Le fichier du texte, s'il y en a un, est ramené à la taille du texte puis fermé.  Les
+     * segments sont abandonnés au ramasse-miettes.
+     *
+     * @throws IOException si le fichier ne peut pas être fermé.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!ferme) {
+            ferme = true;
+            segments.clear();
+            if (canal != null) {
+                try {
+                    canal.truncate(taille * Integer.BYTES);
+                } finally {
+                    canal.close();
+                }
+            }
+            taille = 0;
+        }
+    }
+
+
+    /**
+     * Vérifie que le texte n'a pas été fermé.
+     *
+     * @throws IllegalStateException si le texte a été fermé.
+     */
+    private void verifierOuvert() {
+        if (ferme) {
+            throw new IllegalStateException("le texte est ferme");
+        }
+    }
+
+
+    /**
+     * Crée un nouveau segment, en mémoire directe ou dans une nouvelle région du fichier.
+     *
+     * @return le segment, de {@code SYLLABES_PAR_SEGMENT} numéros.
+     */
+    private IntBuffer nouveauSegment() {
+        long octets = (long) SYLLABES_PAR_SEGMENT * Integer.BYTES;
+        IntBuffer resultat;
+
+        if (canal == null) {
+            resultat = ByteBuffer.allocateDirect((int) octets).asIntBuffer();
+        } else {
+            try {
+                resultat = canal.map(FileChannel.MapMode.READ_WRITE, segments.size() * octets, octets).asIntBuffer();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Donne le numéro d'une syllabe dans le dictionnaire, en l'y ajoutant au besoin.
+     *
+     * @param syllabe la syllabe.
+     * @return son numéro.
+     */
+    private int numero(SyllabeFrancais syllabe) {
+        return numeros.computeIfAbsent(syllabe, nouvelle -> {
+            dictionnaire.add(nouvelle);
+            return dictionnaire.size() - 1;
+        });
+    }
+
+
+    /**
+     * Lit le numéro rangé à une position du texte.
+     *
+     * @param index la position.
+     * @return le numéro de la syllabe à cette position.
+     * @throws IndexOutOfBoundsException si la position est hors du texte.
+     */
+    private int numeroA(long index) {
+        verifierOuvert();
+        if (index < 0 || index >= taille) {
+            throw new IndexOutOfBoundsException("Index " + index + " hors de [0, " + taille + ")");
+        }
+        return segments.get(segment(index)).get(position(index));
+    }
+
+
+    /**
+     * Donne le nombre de syllabes rangées dans un segment.
+     *
+     * @param indice l'indice du segment.
+     * @return le nombre de syllabes du segment, plus petit que {@code SYLLABES_PAR_SEGMENT} pour le dernier.
+     */
+    private int finDuSegment(int indice) {
+        return (int) Math.min(SYLLABES_PAR_SEGMENT, taille - (long) indice * SYLLABES_PAR_SEGMENT);
+    }
+
+
+    /**
+     * Donne l'indice du segment qui contient une position du texte.
+     *
+     * @param index la position.
+     * @return l'indice du segment.
+     */
+    private static int segment(long index) {
+        return (int) (index / SYLLABES_PAR_SEGMENT);
+    }
+
+
+    /**
+     * Donne la position, dans son segment, d'une position du texte.
+     *
+     * @param index la position.
+     * @return la position dans le segment.
+     */
+    private static int position(long index) {
+        return (int) (index % SYLLABES_PAR_SEGMENT);
+    }
+}
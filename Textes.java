@@ -9,4 +9,22 @@ public class Textes {
     public static final String MSSG_ERREUR_FICHIER_INEXISTANT = "le fichier n'existe pas.";
     public static final String MSSG_ERREUR_NOMBRE_SYLLABE = "le nombre de syllabe minimal devrait plus grand que "
             + Constantes.MIN_NOMBRE_SYLLABE + ".";
+    public static final String MSSG_ERREUR_ARGUMENTS = "les arguments de la ligne de commande sont invalides.";
+    public static final String MSSG_ERREUR_SERVEUR = "le serveur n'a pas pu etre demarre.";
+    public static final String MSSG_ERREUR_REQUETE = "la requete est invalide.";
+    public static final String MSSG_ERREUR_REDUCTION = "la reduction n'a pas pu etre effectuee.";
+    public static final String MSSG_ERREUR_LECTURE_ECRITURE = "le fichier n'a pas pu etre lu ou ecrit.";
+
+    public static final String MSSG_SERVEUR_DEMARRE = "Serveur de reduction en ecoute sur le port ";
+    public static final String MSSG_LOT_TERMINE = "Fichiers reduits : ";
+    public static final String MSSG_DECODAGE_TERMINE = "Fichiers decodes : ";
+    public static final String MSSG_CALIBRATION_TERMINEE = "Calibration terminee :\n";
+
+    public static final String OPTION_SERVEUR = "--serveur";
+    public static final String OPTION_LOT = "--lot";
+    public static final String OPTION_PIPELINE = "--pipeline";
+    public static final String OPTION_COMPACT = "--compact";
+    public static final String OPTION_REPRISE = "--reprise";
+    public static final String OPTION_DECODER = "--decoder";
+    public static final String OPTION_CALIBRER = "--calibrer";
 }
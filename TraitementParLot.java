@@ -0,0 +1,228 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * Réduit un lot de fichiers sans interaction avec l'utilisateur.
+ * <p>
+ * Les fichiers sont réduits en parallèle sur un bassin de fils borné par le nombre de processeurs.  Le résultat
+ * de chaque fichier est écrit à côté du fichier d'origine, sous le même nom suivi de
+ * {@code Constantes.EXTENSION_SORTIE}, ou de {@code Constantes.EXTENSION_COMPACTE} en plus lorsque le résultat est
+ * écrit dans le {@code FormatCompact}.  Les fichiers sont lus à l'aide de leur copie dans le {@code FormatBinaire},
+ * qui est créée au premier traitement.
+ * <p>
+ * Avec la reprise, l'état de chaque réduction est sauvegardé dans un {@code PointDeReprise} placé à côté du fichier,
+ * sous le même nom suivi de {@code Constantes.EXTENSION_REPRISE}.  Un lot interrompu puis relancé continue chaque
+ * réduction à partir de son dernier point de reprise.
+ *
+ * @see TexteSonore
+ * @see FormatBinaire
+ * @see FormatCompact
+ * @see CacheDeReduction
+ * @see PointDeReprise
+ */
+public class TraitementParLot {
+    private final int nombreDeSyllabes;
+    private final CacheDeReduction cache;
+    private final boolean compact;
+    private final boolean reprise;
+
+
+    /**
+     * Construit un traitement par lot qui écrit ses résultats sous forme textuelle.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir dans chaque fichier.
+     * @param cache            le cache des résultats de réduction, partagé par tous les fichiers du lot.
+     */
+    public TraitementParLot(int nombreDeSyllabes, CacheDeReduction cache) {
+        this(nombreDeSyllabes, cache, false, false);
+    }
+
+    /**
+     * Construit un traitement par lot sans reprise.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir dans chaque fichier.
+     * @param cache            le cache des résultats de réduction, partagé par tous les fichiers du lot.
+     * @param compact          {@code true} pour écrire les résultats dans le {@code FormatCompact}.
+     */
+    public TraitementParLot(int nombreDeSyllabes, CacheDeReduction cache, boolean compact) {
+        this(nombreDeSyllabes, cache, compact, false);
+    }
+
+    /**
+     * Construit un traitement par lot.
+     *
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir dans chaque fichier.
+     * @param cache            le cache des résultats de réduction, partagé par tous les fichiers du lot.
+     * @param compact          {@code true} pour écrire les résultats dans le {@code FormatCompact}.
+     * @param reprise          {@code true} pour sauvegarder régulièrement l'état de chaque réduction et reprendre
+     *                         celles qui ont été interrompues.
+     */
+    public TraitementParLot(int nombreDeSyllabes, CacheDeReduction cache, boolean compact, boolean reprise) {
+        this.nombreDeSyllabes = nombreDeSyllabes;
+        this.cache = cache;
+        this.compact = compact;
+        this.reprise = reprise;
+    }
+
+
+    /**
+     * Dresse la liste des fichiers à réduire.
+     * <p>
+     * Un répertoire est remplacé par les fichiers qu'il contient directement.  Les fichiers produits par une
+     * réduction précédente, compacts ou non, les copies binaires et les points de reprise sont ignorés.
+     *
+     * @param chemins les fichiers et les répertoires à traiter.
+     * @return la liste des fichiers à réduire.
+     * @throws UncheckedIOException si un répertoire ne peut pas être parcouru.
+     */
+    public static List<Path> listerFichiers(List<Path> chemins) {
+        List<Path> resultat = new ArrayList<>();
+
+        for (Path chemin : chemins) {
+            if (Files.isDirectory(chemin)) {
+                try (Stream<Path> contenu = Files.list(chemin)) {
+                    resultat.addAll(contenu.filter(Files::isRegularFile).sorted().collect(Collectors.toList()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            } else {
+                resultat.add(chemin);
+            }
+        }
+        resultat.removeIf(fichier -> fichier.toString().endsWith(Constantes.EXTENSION_SORTIE)
+                || fichier.toString().endsWith(Constantes.EXTENSION_COMPACTE)
+                || fichier.toString().endsWith(Constantes.EXTENSION_BINAIRE)
+                || fichier.toString().endsWith(Constantes.EXTENSION_BINAIRE + Constantes.EXTENSION_TEMPORAIRE)
+                || fichier.toString().endsWith(Constantes.EXTENSION_REPRISE)
+                || fichier.toString().endsWith(Constantes.EXTENSION_REPRISE + Constantes.EXTENSION_TEMPORAIRE));
+
+        return resultat;
+    }
+
+
+    /**
+     * Donne le fichier dans lequel le résultat de la réduction d'un fichier est écrit.
+     *
+     * @param fichier le fichier d'origine.
+     * @return le fichier de sortie, placé à côté du fichier d'origine.
+     */
+    public static Path fichierDeSortie(Path fichier) {
+        return fichier.resolveSibling(fichier.getFileName() + Constantes.EXTENSION_SORTIE);
+    }
+
+
+    /**
+     * Écrit le résultat de la réduction d'un fichier à côté de celui-ci.
+     *
+     * @param fichier  le fichier d'origine.
+     * @param resultat la représentation textuelle du texte réduit.
+     * @param compact  {@code true} pour écrire le résultat dans le {@code FormatCompact}.
+     * @return le fichier dans lequel le résultat a été écrit.
+     * @throws IOException si le résultat ne peut pas être écrit.
+     */
+    public static Path ecrireResultat(Path fichier, String resultat, boolean compact) throws IOException {
+        Path sortie = fichierDeSortie(fichier);
+
+        if (compact) {
+            sortie = sortie.resolveSibling(sortie.getFileName() + Constantes.EXTENSION_COMPACTE);
+            FormatCompact.ecrire(resultat, sortie);
+        } else {
+            Files.writeString(sortie, resultat, StandardCharsets.UTF_8);
+        }
+
+        return sortie;
+    }
+
+
+    /**
+     * Décode un fichier écrit dans le {@code FormatCompact} et écrit sa forme textuelle à côté de celui-ci, sous
+     * le même nom sans {@code Constantes.EXTENSION_COMPACTE}.
+     *
+     * @param fichier le fichier compact.
+     * @return le fichier dans lequel le texte a été écrit.
+     * @throws IOException si le fichier ne peut pas être lu ou si le texte ne peut pas être écrit.
+     */
+    public static Path decoder(Path fichier) throws IOException {
+        String nom = fichier.getFileName().toString();
+        Path resultat = fichier.resolveSibling(nom.endsWith(Constantes.EXTENSION_COMPACTE)
+                ? nom.substring(0, nom.length() - Constantes.EXTENSION_COMPACTE.length())
+                : nom + Constantes.EXTENSION_SORTIE);
+
+        Files.writeString(resultat, FormatCompact.lire(fichier), StandardCharsets.UTF_8);
+
+        return resultat;
+    }
+
+
+    /**
+     * Réduit tous les fichiers du lot.
+     * <p>
+     * Une erreur sur un fichier est affichée et n'interrompt pas le traitement des autres fichiers.
+     *
+     * @param fichiers les fichiers à réduire.
+     * @return le nombre de fichiers réduits avec succès.
+     */
+    public int traiter(List<Path> fichiers) {
+        ExecutorService executeur = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        List<Future<Path>> resultats = new ArrayList<>();
+        int reussis = 0;
+
+        for (Path fichier : fichiers) {
+            resultats.add(executeur.submit(() -> reduire(fichier)));
+        }
+        executeur.shutdown();
+
+        for (int i = 0; i < resultats.size(); i++) {
+            try {
+                resultats.get(i).get();
+                reussis++;
+            } catch (ExecutionException e) {
+                Erreur.LECTURE_ECRITURE.afficher("\"" + fichiers.get(i) + "\" " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                Erreur.LECTURE_ECRITURE.afficher("\"" + fichiers.get(i) + "\"");
+            }
+        }
+
+        return reussis;
+    }
+
+
+    /**
+     * Réduit un fichier et écrit le résultat à côté de celui-ci.
+     *
+     * @param fichier le fichier à réduire.
+     * @return le fichier dans lequel le résultat a été écrit.
+     * @throws IOException si le fichier ne peut pas être lu ou si le résultat ne peut pas être écrit.
+     */
+    private Path reduire(Path fichier) throws IOException {
+        TexteSonore texteSonore = FormatBinaire.charger(fichier);
+        CleDeReduction cle = new CleDeReduction(texteSonore, nombreDeSyllabes);
+        String resultat = cache.chercher(cle);
+
+        if (resultat == null) {
+            if (reprise) {
+                texteSonore.reduitA(nombreDeSyllabes, new MoteurAdaptatif(nombreDeSyllabes),
+                        new PointDeReprise(fichier.resolveSibling(fichier.getFileName() + Constantes.EXTENSION_REPRISE),
+                                Constantes.INTERVALLE_POINT_DE_REPRISE));
+            } else {
+                texteSonore.reduitA(nombreDeSyllabes);
+            }
+            resultat = texteSonore.toString();
+            cache.ajouter(cle, resultat);
+        }
+        return ecrireResultat(fichier, resultat, compact);
+    }
+}
@@ -46,6 +46,11 @@ public class VoyelleFrancais {
      */
     protected boolean nasal = false;
 
+    /**
+     * Le nombre de bits de la signature d'un groupe de voyelles.
+     */
+    public static final int BITS_SIGNATURE = 2 * API_Voyelle.NOMBRE_DE_TRAITS + 2;
+
 
     /**
      * Construit une voyelle simple.
@@ -197,6 +202,30 @@ public class VoyelleFrancais {
     }
 
 
+    /**
+     * Regroupe les caractéristiques sonores du groupe dans une signature.
+     * <p>
+     * La signature contient les traits de la voyelle de base, un bit indiquant la présence de la semi-voyelle,
+     * ses traits, puis un bit pour la nasalité.  Deux groupes ont la même signature si et seulement si leur
+     * distance est nulle.
+     *
+     * @return la signature du groupe, sur {@code BITS_SIGNATURE} bits.
+     * @see API_Voyelle#traits()
+     */
+    public int signature() {
+        int resultat = voyelle.traits();
+
+        if (semiVoyelle != null) {
+            resultat |= (1 | semiVoyelle.traits() << 1) << API_Voyelle.NOMBRE_DE_TRAITS;
+        }
+        if (nasal) {
+            resultat |= 1 << (2 * API_Voyelle.NOMBRE_DE_TRAITS + 1);
+        }
+
+        return resultat;
+    }
+
+
     /**
      * Comptabilise les distances entre deux {@code VoyelleFrancais}.
      *
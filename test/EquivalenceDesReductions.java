@@ -0,0 +1,410 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+
+
+/**
+ * Vérifie que chaque moteur exact et chaque chemin de réduction donnent le même texte que la réduction d'origine.
+ * <p>
+ * La référence est la boucle d'origine de {@code TexteSonore.reduitA} : choisir la paire la plus proche en
+ * comparant toutes les paires du compte, la remplacer dans le texte, puis recompter le texte.  Elle est recopiée
+ * ici pour ne dépendre d'aucune des optimisations vérifiées.  Les textes sont tirés au hasard avec des graines
+ * fixes, sur un petit choix de phonèmes pour multiplier les distances égales et les signatures identiques.
+ * <p>
+ * Les moteurs approximatifs ne donnent pas le texte de référence : on vérifie seulement qu'ils atteignent le
+ * nombre de syllabes demandé et que chaque syllabe est remplacée de la même façon partout dans le texte.
+ * <p>
+ * Depuis la racine du projet :
+ * <pre>
+ * javac -encoding UTF-8 -d classes *.java test/*.java
+ * java -XX:ActiveProcessorCount=4 -cp classes EquivalenceDesReductions
+ * </pre>
+ * L'option {@code ActiveProcessorCount} fait passer les grands textes par le comptage et la réécriture en
+ * parallèle sur une machine à un seul processeur.  Le programme se termine avec le code 1 si une vérification
+ * échoue.
+ */
+public class EquivalenceDesReductions {
+    /**
+     * Le nombre de textes aléatoires vérifiés.
+     */
+    private static final int NOMBRE_DE_TEXTES = 40;
+
+    /**
+     * Le nombre maximal de syllabes distinctes d'un texte aléatoire.
+     */
+    private static final int VOCABULAIRE_MAXIMAL = 120;
+
+    /**
+     * La longueur du grand texte, au-delà des seuils de comptage et de réécriture en parallèle.
+     */
+    private static final int LONGUEUR_GRAND_TEXTE =
+            2 * Math.max(Constantes.SEUIL_COMPTAGE_PARALLELE, Constantes.SEUIL_REECRITURE_PARALLELE) + 17;
+
+    private static final API_Consonne[] CONSONNES = Arrays.copyOf(API_Consonne.values(),
+            Math.min(8, API_Consonne.values().length));
+    private static final API_Voyelle[] VOYELLES = Arrays.copyOf(API_Voyelle.values(),
+            Math.min(6, API_Voyelle.values().length));
+
+    private static int verifications = 0;
+    private static int echecs = 0;
+
+
+    /**
+     * Lance toutes les vérifications.
+     *
+     * @param args non utilisé.
+     * @throws IOException si le texte hors du tas ne peut pas être fermé.
+     */
+    public static void main(String[] args) throws IOException {
+        for (int graine = 1; graine <= NOMBRE_DE_TEXTES; graine++) {
+            Random aleatoire = new Random(graine);
+            ArrayList<SyllabeFrancais> texte = texteAleatoire(aleatoire,
+                    2 + aleatoire.nextInt(VOCABULAIRE_MAXIMAL - 1), 1 + aleatoire.nextInt(20));
+            int distinctes = new LinkedHashSet<>(texte).size();
+
+            for (int cible : new int[]{1, 1 + aleatoire.nextInt(distinctes), distinctes}) {
+                String cas = "graine " + graine + ", " + distinctes + " -> " + cible;
+
+                verifierMoteursExacts(cas, texte, cible);
+                verifierMoteursApproximatifs(cas, texte, cible);
+                verifierAjouts(cas, texte, cible, aleatoire);
+            }
+        }
+        verifierGrandTexte();
+
+        System.out.println(verifications + " verifications, " + echecs + " echecs"
+                + " (parallelisme : " + ForkJoinPool.getCommonPoolParallelism() + ")");
+        if (echecs > 0) {
+            System.exit(1);
+        }
+    }
+
+
+    /**
+     * Compare à la référence chaque moteur exact, la réduction par défaut et le texte hors du tas.
+     *
+     * @param cas   la description du cas, affichée en cas d'échec.
+     * @param texte le texte à réduire, qui n'est pas modifié.
+     * @param cible le nombre de syllabes distinctes à obtenir.
+     * @throws IOException si le texte hors du tas ne peut pas être fermé.
+     */
+    private static void verifierMoteursExacts(String cas, List<SyllabeFrancais> texte, int cible)
+            throws IOException {
+        ArrayList<SyllabeFrancais> attendu = reduire(texte, cible);
+        LinkedHashMap<String, IntFunction<MoteurDeSelection>> moteurs = new LinkedHashMap<>();
+
+        moteurs.put("MoteurParBalayage", n -> new MoteurParBalayage());
+        moteurs.put("MoteurParIndex", n -> new MoteurParIndex());
+        moteurs.put("MoteurParMatrice", n -> new MoteurParMatrice());
+        moteurs.put("MoteurAdaptatif", MoteurAdaptatif::new);
+
+        for (String nom : moteurs.keySet()) {
+            TexteSonore reduit = texteSonore(texte);
+
+            reduit.reduitA(cible, moteurs.get(nom).apply(cible));
+            verifier(attendu.equals(reduit), nom + ", " + cas);
+        }
+
+        TexteSonore reduit = texteSonore(texte);
+
+        reduit.reduitA(cible);
+        verifier(attendu.equals(reduit), "reduitA, " + cas);
+
+        try (TexteSonoreHorsTas horsTas = new TexteSonoreHorsTas()) {
+            ArrayList<SyllabeFrancais> obtenu = new ArrayList<>();
+
+            horsTas.ajouteTout(texte.iterator());
+            horsTas.reduitA(cible);
+            horsTas.forEach(obtenu::add);
+            verifier(attendu.equals(obtenu), "TexteSonoreHorsTas, " + cas);
+        }
+    }
+
+
+    /**
+     * Vérifie que chaque moteur approximatif atteint le nombre de syllabes demandé en remplaçant chaque syllabe
+     * par une seule autre syllabe du texte.
+     *
+     * @param cas   la description du cas, affichée en cas d'échec.
+     * @param texte le texte à réduire, qui n'est pas modifié.
+     * @param cible le nombre de syllabes distinctes à obtenir.
+     */
+    private static void verifierMoteursApproximatifs(String cas, List<SyllabeFrancais> texte, int cible) {
+        LinkedHashMap<String, IntFunction<MoteurDeSelection>> moteurs = new LinkedHashMap<>();
+
+        moteurs.put("MoteurParBalayage non strict", n -> new MoteurParBalayage(false));
+        moteurs.put("MoteurParHachage", n -> new MoteurParHachage());
+        moteurs.put("MoteurParRarete", n -> new MoteurParRarete());
+        moteurs.put("MoteurParMedoides", MoteurParMedoides::new);
+
+        for (String nom : moteurs.keySet()) {
+            TexteSonore reduit = texteSonore(texte);
+
+            reduit.reduitA(cible, moteurs.get(nom).apply(cible));
+            verifier(new LinkedHashSet<>(reduit).size() == cible && estUneReduction(texte, reduit),
+                    nom + ", " + cas);
+        }
+    }
+
+
+    /**
+     * Découpe le texte en trois morceaux ajoutés avec {@code ajouteEtReduitA}, et compare le résultat à
+     * {@code addAll} suivi de la réduction de référence.
+     *
+     * @param cas       la description du cas, affichée en cas d'échec.
+     * @param texte     le texte à découper, qui n'est pas modifié.
+     * @param cible     le nombre de syllabes distinctes à obtenir.
+     * @param aleatoire le générateur utilisé pour choisir les coupures.
+     */
+    private static void verifierAjouts(String cas, List<SyllabeFrancais> texte, int cible, Random aleatoire) {
+        int premiereCoupure = aleatoire.nextInt(texte.size() + 1);
+        int secondeCoupure = premiereCoupure + aleatoire.nextInt(texte.size() - premiereCoupure + 1);
+        TexteSonore reduit = texteSonore(texte.subList(0, premiereCoupure));
+        ArrayList<SyllabeFrancais> attendu = reduire(texte.subList(0, premiereCoupure), cible);
+
+        reduit.reduitA(cible);
+        for (List<SyllabeFrancais> morceau : List.of(texte.subList(premiereCoupure, secondeCoupure),
+                texte.subList(secondeCoupure, texte.size()))) {
+            attendu.addAll(morceau);
+            attendu = reduire(attendu, cible);
+            reduit.ajouteEtReduitA(morceau, cible);
+            verifier(attendu.equals(reduit), "ajouteEtReduitA, " + cas);
+        }
+    }
+
+
+    /**
+     * Compare à la référence la réduction d'un texte assez long pour être compté et réécrit en parallèle, par
+     * {@code reduitA}, par {@code ajouteEtReduitA} et hors du tas.
+     *
+     * @throws IOException si le texte hors du tas ne peut pas être fermé.
+     */
+    private static void verifierGrandTexte() throws IOException {
+        Random aleatoire = new Random(0);
+        ArrayList<SyllabeFrancais> texte = texteAleatoire(aleatoire, 200, LONGUEUR_GRAND_TEXTE / 200);
+        int cible = 20;
+        String cas = "grand texte de " + texte.size() + " syllabes -> " + cible;
+
+        verifierMoteursExacts(cas, texte, cible);
+
+        TexteSonore reduit = texteSonore(texte.subList(0, 1000));
+        ArrayList<SyllabeFrancais> attenduParAjout = reduire(texte.subList(0, 1000), cible);
+
+        reduit.reduitA(cible);
+        reduit.ajouteEtReduitA(texte.subList(1000, texte.size()), cible);
+        attenduParAjout.addAll(texte.subList(1000, texte.size()));
+        verifier(reduire(attenduParAjout, cible).equals(reduit), "ajouteEtReduitA, " + cas);
+    }
+
+
+    /**
+     * Enregistre le résultat d'une vérification, et affiche le cas s'il a échoué.
+     *
+     * @param reussi {@code true} si la vérification a réussi.
+     * @param cas    la description du cas.
+     */
+    private static void verifier(boolean reussi, String cas) {
+        verifications++;
+        if (!reussi) {
+            echecs++;
+            System.out.println("ECHEC : " + cas);
+        }
+    }
+
+
+    /**
+     * Réduit une copie du texte selon la boucle d'origine de {@code TexteSonore.reduitA}.
+     *
+     * @param texte            le texte à réduire, qui n'est pas modifié.
+     * @param nombreDeSyllabes le nombre de syllabes distinctes à obtenir.
+     * @return le texte réduit.
+     */
+    private static ArrayList<SyllabeFrancais> reduire(List<SyllabeFrancais> texte, int nombreDeSyllabes) {
+        ArrayList<SyllabeFrancais> resultat = new ArrayList<>(texte);
+        LinkedHashMap<SyllabeFrancais, Integer> compteur = compter(resultat);
+
+        while (compteur.size() > nombreDeSyllabes) {
+            PaireDeSyllabes paire = choisirSyllabesARemplacer(compteur);
+
+            resultat.replaceAll(syllabe -> syllabe.equals(paire.getSyllabeARemplacer())
+                    ? paire.getNouvelleValeur() : syllabe);
+            compteur = compter(resultat);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Compte les syllabes d'un texte, dans l'ordre de leur première occurrence.
+     *
+     * @param texte le texte à compter.
+     * @return le nombre d'occurrences de chaque syllabe.
+     */
+    private static LinkedHashMap<SyllabeFrancais, Integer> compter(List<SyllabeFrancais> texte) {
+        LinkedHashMap<SyllabeFrancais, Integer> resultat = new LinkedHashMap<>();
+
+        for (SyllabeFrancais syllabe : texte) {
+            resultat.merge(syllabe, 1, Integer::sum);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Choisit la paire à remplacer en comparant toutes les paires du compte, comme le faisait
+     * {@code CompteurDeSyllabes} à l'origine : la première paire à la plus petite distance, dont la syllabe la
+     * moins fréquente, ou la seconde à fréquence égale, est remplacée.
+     *
+     * @param compteur le nombre d'occurrences de chaque syllabe.
+     * @return la paire à remplacer.
+     */
+    private static PaireDeSyllabes choisirSyllabesARemplacer(LinkedHashMap<SyllabeFrancais, Integer> compteur) {
+        ArrayList<SyllabeFrancais> syllabes = new ArrayList<>(compteur.keySet());
+        int plusPetiteDistance = Integer.MAX_VALUE;
+        SyllabeFrancais choix1 = null;
+        SyllabeFrancais choix2 = null;
+        PaireDeSyllabes resultat;
+
+        for (int i = 0; i < syllabes.size(); i++) {
+            for (int j = i + 1; j < syllabes.size(); j++) {
+                int distance = syllabes.get(i).distanceA(syllabes.get(j));
+
+                if (distance < plusPetiteDistance) {
+                    plusPetiteDistance = distance;
+                    choix1 = syllabes.get(i);
+                    choix2 = syllabes.get(j);
+                }
+            }
+        }
+
+        if (compteur.get(choix1) < compteur.get(choix2)) {
+            resultat = new PaireDeSyllabes(choix1, choix2);
+        } else {
+            resultat = new PaireDeSyllabes(choix2, choix1);
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Vérifie que chaque syllabe du texte d'origine est remplacée partout par la même syllabe du texte d'origine.
+     *
+     * @param origine le texte d'origine.
+     * @param reduit  le texte réduit.
+     * @return {@code true} si le texte réduit est une réduction du texte d'origine.
+     */
+    private static boolean estUneReduction(List<SyllabeFrancais> origine, List<SyllabeFrancais> reduit) {
+        HashMap<SyllabeFrancais, SyllabeFrancais> remplacements = new HashMap<>();
+        LinkedHashSet<SyllabeFrancais> syllabes = new LinkedHashSet<>(origine);
+        boolean resultat = origine.size() == reduit.size();
+
+        for (int i = 0; resultat && i < origine.size(); i++) {
+            SyllabeFrancais precedente = remplacements.putIfAbsent(origine.get(i), reduit.get(i));
+
+            resultat = syllabes.contains(reduit.get(i)) && (precedente == null || precedente.equals(reduit.get(i)));
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Tire un texte au hasard.  Les syllabes les plus fréquentes sont celles tirées en premier.
+     *
+     * @param aleatoire       le générateur utilisé.
+     * @param vocabulaire     le nombre de syllabes différentes tirées.
+     * @param longueurMoyenne le nombre moyen d'occurrences de chaque syllabe.
+     * @return le texte tiré.
+     */
+    private static ArrayList<SyllabeFrancais> texteAleatoire(Random aleatoire, int vocabulaire,
+                                                             int longueurMoyenne) {
+        LinkedHashSet<SyllabeFrancais> tirees = new LinkedHashSet<>();
+        ArrayList<SyllabeFrancais> resultat = new ArrayList<>();
+
+        for (int essais = 0; tirees.size() < vocabulaire && essais < 100 * vocabulaire; essais++) {
+            tirees.add(syllabeAleatoire(aleatoire));
+        }
+
+        ArrayList<SyllabeFrancais> syllabes = new ArrayList<>(tirees);
+
+        for (int i = 0; i < syllabes.size() * longueurMoyenne; i++) {
+            double tirage = aleatoire.nextDouble();
+
+            resultat.add(syllabes.get((int) (tirage * tirage * syllabes.size())));
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Tire une syllabe au hasard, de n'importe quelle structure.
+     *
+     * @param aleatoire le générateur utilisé.
+     * @return la syllabe tirée.
+     */
+    private static SyllabeFrancais syllabeAleatoire(Random aleatoire) {
+        VoyelleFrancais noyau = aleatoire.nextBoolean()
+                ? new VoyelleFrancais(VOYELLES[aleatoire.nextInt(VOYELLES.length)], aleatoire.nextBoolean())
+                : new VoyelleFrancais(VOYELLES[aleatoire.nextInt(VOYELLES.length)],
+                VOYELLES[aleatoire.nextInt(VOYELLES.length)], aleatoire.nextBoolean());
+        SyllabeFrancais resultat;
+
+        switch (aleatoire.nextInt(4)) {
+            case 0:
+                resultat = new SyllabeFrancais(noyau);
+                break;
+            case 1:
+                resultat = new SyllabeFrancais(consonneAleatoire(aleatoire), noyau);
+                break;
+            case 2:
+                resultat = new SyllabeFrancais(noyau, consonneAleatoire(aleatoire));
+                break;
+            default:
+                resultat = new SyllabeFrancais(consonneAleatoire(aleatoire), noyau, consonneAleatoire(aleatoire));
+                break;
+        }
+
+        return resultat;
+    }
+
+
+    /**
+     * Tire au hasard une consonne simple ou un groupe de deux consonnes.
+     *
+     * @param aleatoire le générateur utilisé.
+     * @return la consonne tirée.
+     */
+    private static ConsonneFrancais consonneAleatoire(Random aleatoire) {
+        API_Consonne premiere = CONSONNES[aleatoire.nextInt(CONSONNES.length)];
+
+        return aleatoire.nextBoolean()
+                ? new ConsonneFrancais(premiere)
+                : new ConsonneFrancais(premiere, CONSONNES[aleatoire.nextInt(CONSONNES.length)]);
+    }
+
+
+    /**
+     * Construit un {@code TexteSonore} contenant une copie du texte.
+     *
+     * @param texte les syllabes à copier.
+     * @return le {@code TexteSonore} construit.
+     */
+    private static TexteSonore texteSonore(List<SyllabeFrancais> texte) {
+        TexteSonore resultat = new TexteSonore();
+
+        resultat.addAll(texte);
+
+        return resultat;
+    }
+}